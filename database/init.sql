@@ -3,10 +3,13 @@ CREATE DATABASE IF NOT EXISTS training_management_db;
 USE training_management_db;
 
 -- Drop tables if they exist (for clean setup)
+DROP TABLE IF EXISTS attendance_daily_rollup;
 DROP TABLE IF EXISTS attendance;
+DROP TABLE IF EXISTS attendance_archive;
 DROP TABLE IF EXISTS trainees;
 DROP TABLE IF EXISTS batches;
 DROP TABLE IF EXISTS trainers;
+DROP SEQUENCE IF EXISTS attendance_seq;
 
 -- Create Trainers Table
 CREATE TABLE trainers (
@@ -34,7 +37,8 @@ CREATE TABLE batches (
     enrolled_count INT DEFAULT 0,
     status VARCHAR(50) DEFAULT 'Active',
     INDEX idx_location (location),
-    INDEX idx_trainer (trainer_id)
+    INDEX idx_trainer (trainer_id),
+    INDEX idx_trainer_dates (trainer_id, start_date, end_date)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- Create Trainees Table
@@ -50,18 +54,81 @@ CREATE TABLE trainees (
     INDEX idx_email (email)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
+-- Attendance ids come from a pooled sequence (allocationSize = 50) so inserts can be JDBC-batched.
+-- Starts above the sample rows below.
+CREATE SEQUENCE attendance_seq START WITH 101 INCREMENT BY 50;
+
 -- Create Attendance Table
+-- Range-partitioned by month so date-bounded reads and the archival job touch only the months involved.
+-- Every unique key of a partitioned table must include date, hence the (id, date) primary key.
+-- AttendanceArchiveService splits pmax into further months at startup and nightly, keeping
+-- app.attendance.partitions.months-ahead months ahead of today.
 CREATE TABLE attendance (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT NOT NULL,
     trainee_id BIGINT NOT NULL,
     trainee_name VARCHAR(255),
     batch_id BIGINT NOT NULL,
     batch_name VARCHAR(255),
     date DATE NOT NULL,
     status VARCHAR(20) NOT NULL,
-    INDEX idx_trainee (trainee_id),
+    PRIMARY KEY (id, date),
+    UNIQUE KEY uk_attendance_trainee_batch_date (trainee_id, batch_id, date),
     INDEX idx_batch (batch_id),
-    INDEX idx_date (date)
+    INDEX idx_date (date),
+    INDEX idx_batch_date_status (batch_id, date, status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
+PARTITION BY RANGE COLUMNS(date) (
+    PARTITION p202501 VALUES LESS THAN ('2025-02-01'),
+    PARTITION p202502 VALUES LESS THAN ('2025-03-01'),
+    PARTITION p202503 VALUES LESS THAN ('2025-04-01'),
+    PARTITION p202504 VALUES LESS THAN ('2025-05-01'),
+    PARTITION p202505 VALUES LESS THAN ('2025-06-01'),
+    PARTITION p202506 VALUES LESS THAN ('2025-07-01'),
+    PARTITION p202507 VALUES LESS THAN ('2025-08-01'),
+    PARTITION p202508 VALUES LESS THAN ('2025-09-01'),
+    PARTITION p202509 VALUES LESS THAN ('2025-10-01'),
+    PARTITION p202510 VALUES LESS THAN ('2025-11-01'),
+    PARTITION p202511 VALUES LESS THAN ('2025-12-01'),
+    PARTITION p202512 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
+
+-- Attendance of batches that closed before the archive horizon (app.attendance.archive.horizon),
+-- moved here nightly by AttendanceArchiveService. Rarely read, so stored compressed.
+CREATE TABLE attendance_archive (
+    id BIGINT PRIMARY KEY,
+    trainee_id BIGINT NOT NULL,
+    trainee_name VARCHAR(255),
+    batch_id BIGINT NOT NULL,
+    batch_name VARCHAR(255),
+    date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    archived_at DATETIME NOT NULL,
+    INDEX idx_archive_batch_date (batch_id, date),
+    INDEX idx_archive_trainee (trainee_id),
+    INDEX idx_archive_date (date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8;
+
+-- Per (batch, date, status) attendance counts, maintained alongside attendance writes for reports
+CREATE TABLE attendance_daily_rollup (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    batch_id BIGINT NOT NULL,
+    date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attendance_count BIGINT NOT NULL DEFAULT 0,
+    UNIQUE KEY uk_rollup_batch_date_status (batch_id, date, status)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- Courses Table
@@ -106,15 +173,19 @@ INSERT INTO trainees (name, email, phone, batch_id, batch_name, location) VALUES
 ('Meera Nambiar', 'meera.nambiar@example.com', '9876543219', 5, 'DevOps Engineering', 'Chennai');
 
 -- Insert Sample Attendance Records
-INSERT INTO attendance (trainee_id, trainee_name, batch_id, batch_name, date, status) VALUES
-(1, 'Rahul Verma', 1, 'Java Full Stack Development', '2025-02-01', 'PRESENT'),
-(2, 'Pooja Gupta', 1, 'Java Full Stack Development', '2025-02-01', 'PRESENT'),
-(3, 'Arjun Nair', 2, 'Python for Data Science', '2025-02-05', 'LATE'),
-(4, 'Divya Iyer', 2, 'Python for Data Science', '2025-02-05', 'PRESENT'),
-(5, 'Karan Malhotra', 3, 'React & Node.js', '2025-02-10', 'PRESENT'),
-(6, 'Neha Kapoor', 3, 'React & Node.js', '2025-02-10', 'ABSENT'),
-(1, 'Rahul Verma', 1, 'Java Full Stack Development', '2025-02-02', 'PRESENT'),
-(2, 'Pooja Gupta', 1, 'Java Full Stack Development', '2025-02-02', 'PRESENT');
+INSERT INTO attendance (id, trainee_id, trainee_name, batch_id, batch_name, date, status) VALUES
+(1, 1, 'Rahul Verma', 1, 'Java Full Stack Development', '2025-02-01', 'PRESENT'),
+(2, 2, 'Pooja Gupta', 1, 'Java Full Stack Development', '2025-02-01', 'PRESENT'),
+(3, 3, 'Arjun Nair', 2, 'Python for Data Science', '2025-02-05', 'LATE'),
+(4, 4, 'Divya Iyer', 2, 'Python for Data Science', '2025-02-05', 'PRESENT'),
+(5, 5, 'Karan Malhotra', 3, 'React & Node.js', '2025-02-10', 'PRESENT'),
+(6, 6, 'Neha Kapoor', 3, 'React & Node.js', '2025-02-10', 'ABSENT'),
+(7, 1, 'Rahul Verma', 1, 'Java Full Stack Development', '2025-02-02', 'PRESENT'),
+(8, 2, 'Pooja Gupta', 1, 'Java Full Stack Development', '2025-02-02', 'PRESENT');
+
+-- Seed the attendance rollup from the sample records
+INSERT INTO attendance_daily_rollup (batch_id, date, status, attendance_count)
+SELECT batch_id, date, status, COUNT(*) FROM attendance GROUP BY batch_id, date, status;
 
 -- Insert Sample Courses
 INSERT INTO courses (course_name, description, duration_weeks, category) VALUES
@@ -0,0 +1,12 @@
+-- Switch attendance ids from AUTO_INCREMENT to the pooled attendance_seq sequence.
+-- Run once against an existing database before deploying the new backend.
+USE training_management_db;
+
+ALTER TABLE attendance MODIFY id BIGINT NOT NULL;
+
+-- Start the sequence past the current ids (Hibernate hands out id blocks of 50 below each value)
+SET @next_id = (SELECT COALESCE(MAX(id), 0) + 100 FROM attendance);
+SET @ddl = CONCAT('CREATE SEQUENCE IF NOT EXISTS attendance_seq START WITH ', @next_id, ' INCREMENT BY 50');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,52 @@
+-- Remove duplicate attendance rows and add the (trainee_id, batch_id, date) unique key that
+-- POST /api/attendance/mark upserts against. Run once before deploying the new backend.
+-- Duplicates are deleted in chunks of 5000, each committed on its own, so no long row or table locks
+-- are held; the unique key is built online. Safe to re-run if interrupted.
+USE training_management_db;
+
+SET SESSION TRANSACTION ISOLATION LEVEL READ COMMITTED;
+SET autocommit = 1;
+
+-- Keep the most recent row (highest id) for each trainee, batch and day
+DROP TEMPORARY TABLE IF EXISTS attendance_dupes;
+CREATE TEMPORARY TABLE attendance_dupes (id BIGINT PRIMARY KEY) ENGINE=InnoDB
+SELECT a.id
+FROM attendance a
+JOIN (SELECT trainee_id, batch_id, date, MAX(id) AS keep_id
+      FROM attendance
+      GROUP BY trainee_id, batch_id, date
+      HAVING COUNT(*) > 1) d
+  ON a.trainee_id = d.trainee_id AND a.batch_id = d.batch_id AND a.date = d.date AND a.id < d.keep_id;
+
+DELIMITER //
+DROP PROCEDURE IF EXISTS delete_attendance_dupes //
+CREATE PROCEDURE delete_attendance_dupes()
+BEGIN
+    DECLARE remaining BIGINT DEFAULT 1;
+    WHILE remaining > 0 DO
+        DROP TEMPORARY TABLE IF EXISTS attendance_dupes_chunk;
+        CREATE TEMPORARY TABLE attendance_dupes_chunk (id BIGINT PRIMARY KEY) ENGINE=InnoDB
+        SELECT id FROM attendance_dupes ORDER BY id LIMIT 5000;
+
+        DELETE a FROM attendance a JOIN attendance_dupes_chunk c ON a.id = c.id;
+        DELETE d FROM attendance_dupes d JOIN attendance_dupes_chunk c ON d.id = c.id;
+        SELECT COUNT(*) INTO remaining FROM attendance_dupes;
+        DO SLEEP(0.05);
+    END WHILE;
+    DROP TEMPORARY TABLE IF EXISTS attendance_dupes_chunk;
+END //
+DELIMITER ;
+
+CALL delete_attendance_dupes();
+DROP PROCEDURE delete_attendance_dupes;
+DROP TEMPORARY TABLE attendance_dupes;
+
+-- Fails with a duplicate key error if check-ins raced the cleanup; re-run the script in that case.
+-- The unique key starts with trainee_id, so idx_trainee is redundant.
+ALTER TABLE attendance
+    ADD CONSTRAINT uk_attendance_trainee_batch_date UNIQUE (trainee_id, batch_id, date),
+    DROP INDEX idx_trainee,
+    ALGORITHM=INPLACE, LOCK=NONE;
+
+-- The daily rollup still counts the deleted rows; rebuild it afterwards with
+--   curl -X POST http://localhost:8081/api/reports/attendance-rollup/rebuild
@@ -0,0 +1,58 @@
+-- Partition attendance by month on date and create the compressed attendance_archive table that
+-- AttendanceArchiveService moves closed batches' history into. Run once before deploying the new backend.
+-- Repartitioning copies the table: writes block (reads do not) for the duration, so run it off-hours.
+-- Later months are added by the application, which splits pmax at startup and nightly.
+USE training_management_db;
+
+CREATE TABLE IF NOT EXISTS attendance_archive (
+    id BIGINT PRIMARY KEY,
+    trainee_id BIGINT NOT NULL,
+    trainee_name VARCHAR(255),
+    batch_id BIGINT NOT NULL,
+    batch_name VARCHAR(255),
+    date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    archived_at DATETIME NOT NULL,
+    INDEX idx_archive_batch_date (batch_id, date),
+    INDEX idx_archive_trainee (trainee_id),
+    INDEX idx_archive_date (date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8;
+
+-- Every unique key of a partitioned table must include the partitioning column
+ALTER TABLE attendance
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, date),
+    ALGORITHM=INPLACE, LOCK=NONE;
+
+-- One partition per month from the oldest record through three months ahead, then pmax
+DELIMITER //
+DROP PROCEDURE IF EXISTS partition_attendance //
+CREATE PROCEDURE partition_attendance()
+BEGIN
+    DECLARE month_start DATE;
+    DECLARE last_month DATE DEFAULT DATE_FORMAT(CURDATE() + INTERVAL 3 MONTH, '%Y-%m-01');
+    DECLARE ddl TEXT DEFAULT 'ALTER TABLE attendance PARTITION BY RANGE COLUMNS(date) (';
+
+    SELECT DATE_FORMAT(COALESCE(MIN(date), CURDATE()), '%Y-%m-01') INTO month_start FROM attendance;
+    WHILE month_start <= last_month DO
+        SET ddl = CONCAT(ddl, 'PARTITION p', DATE_FORMAT(month_start, '%Y%m'),
+                         ' VALUES LESS THAN (''', month_start + INTERVAL 1 MONTH, '''), ');
+        SET month_start = month_start + INTERVAL 1 MONTH;
+    END WHILE;
+    SET ddl = CONCAT(ddl, 'PARTITION pmax VALUES LESS THAN (MAXVALUE))');
+
+    SET @ddl = ddl;
+    PREPARE statement FROM @ddl;
+    EXECUTE statement;
+    DEALLOCATE PREPARE statement;
+END //
+DELIMITER ;
+
+CALL partition_attendance();
+DROP PROCEDURE partition_attendance;
+
+-- Check the layout
+SELECT partition_name, partition_description, table_rows
+FROM information_schema.partitions
+WHERE table_schema = DATABASE() AND table_name = 'attendance'
+ORDER BY partition_ordinal_position;
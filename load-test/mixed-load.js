@@ -0,0 +1,88 @@
+// k6 load test for the backend: enrollment-day mix of reads, check-ins and sign-ups.
+//
+//   k6 run -e BASE_URL=http://localhost:8081 -e VUS=200 -e DURATION=2m load-test/mixed-load.js
+//
+// k6 reports http_reqs (request rate) and http_req_duration p(95)/p(99) at the end of the run.
+//
+// RAMP_TO ramps from VUS up to that many clients instead:
+//   k6 run -e VUS=1000 -e RAMP_TO=10000 -e DURATION=5m load-test/mixed-load.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8081';
+const BATCH_ID = Number(__ENV.BATCH_ID || 1);
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+const VUS = Number(__ENV.VUS || 100);
+const DURATION = __ENV.DURATION || '1m';
+
+export const options = {
+  scenarios: {
+    mixed: __ENV.RAMP_TO
+      ? {
+          executor: 'ramping-vus',
+          startVUs: VUS,
+          stages: [
+            { duration: DURATION, target: Number(__ENV.RAMP_TO) },
+            { duration: '30s', target: Number(__ENV.RAMP_TO) },
+          ],
+        }
+      : {
+          executor: 'constant-vus',
+          vus: VUS,
+          duration: DURATION,
+        },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+let roster = null;
+
+function loadRoster() {
+  if (roster === null) {
+    const res = http.get(`${BASE_URL}/api/trainees/batch/${BATCH_ID}`);
+    roster = res.status === 200 ? res.json().map((t) => t.id) : [];
+  }
+  return roster;
+}
+
+function dayOffset() {
+  // Spread check-ins over distinct session dates so every iteration writes new rows
+  const date = new Date(Date.UTC(2025, 1, 1));
+  date.setUTCDate(date.getUTCDate() + ((__VU * 1000 + __ITER) % 3650));
+  return date.toISOString().slice(0, 10);
+}
+
+export default function () {
+  const roll = Math.random();
+
+  if (roll < 0.5) {
+    const res = http.get(`${BASE_URL}/api/batches?limit=100`);
+    check(res, { 'list 200': (r) => r.status === 200 });
+  } else if (roll < 0.65) {
+    const res = http.get(`${BASE_URL}/api/reports/attendance-trends/${BATCH_ID}`);
+    check(res, { 'report 200': (r) => r.status === 200 });
+  } else if (roll < 0.9) {
+    const ids = loadRoster();
+    if (ids.length === 0) {
+      return;
+    }
+    const body = JSON.stringify({
+      batchId: BATCH_ID,
+      date: dayOffset(),
+      entries: ids.map((id) => ({ traineeId: id, status: 'PRESENT' })),
+    });
+    const res = http.post(`${BASE_URL}/api/attendance/mark/bulk`, body, JSON_HEADERS);
+    check(res, { 'bulk mark 201': (r) => r.status === 201 });
+  } else {
+    const n = `${__VU}-${__ITER}-${Date.now()}`;
+    const body = JSON.stringify({
+      name: `Load ${n}`,
+      email: `load-${n}@example.com`,
+      phone: '9000000000',
+      batchId: BATCH_ID,
+    });
+    const res = http.post(`${BASE_URL}/api/trainees/enroll`, body, JSON_HEADERS);
+    check(res, { 'enroll 201 or 409': (r) => r.status === 201 || r.status === 409 });
+  }
+}
@@ -0,0 +1,74 @@
+package com.training.management.benchmark;
+
+import com.training.management.dto.BulkAttendanceRequest;
+import com.training.management.model.Attendance;
+import com.training.management.model.Batch;
+import com.training.management.model.Trainee;
+import com.training.management.repository.TraineeRepository;
+import com.training.management.service.AttendanceService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AttendanceBenchmark {
+
+    @Param({"20"})
+    public int batches;
+
+    @Param({"40"})
+    public int traineesPerBatch;
+
+    @Param({"20"})
+    public int sessionDays;
+
+    private ConfigurableApplicationContext context;
+    private AttendanceService attendanceService;
+    private Batch batch;
+    private List<Trainee> roster;
+    private int day;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        List<Batch> seeded = BenchmarkApplication.seed(context, batches, traineesPerBatch, sessionDays);
+        attendanceService = context.getBean(AttendanceService.class);
+        batch = seeded.get(0);
+        roster = context.getBean(TraineeRepository.class).findByBatchId(batch.getId());
+        day = sessionDays;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Attendance markAttendance() {
+        Attendance attendance = new Attendance();
+        attendance.setTraineeId(roster.get(day % roster.size()).getId());
+        attendance.setBatchId(batch.getId());
+        attendance.setDate(nextDate());
+        attendance.setStatus(Attendance.AttendanceStatus.PRESENT);
+        return attendanceService.markAttendance(attendance);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(40)
+    public List<Attendance> markBulkAttendance() {
+        List<BulkAttendanceRequest.Entry> entries = roster.stream()
+                .limit(40)
+                .map(t -> new BulkAttendanceRequest.Entry(t.getId(), Attendance.AttendanceStatus.PRESENT))
+                .toList();
+        return attendanceService.markBulkAttendance(new BulkAttendanceRequest(batch.getId(), nextDate(), entries));
+    }
+
+    private LocalDate nextDate() {
+        return BenchmarkApplication.FIRST_SESSION.plusDays(day++);
+    }
+}
@@ -0,0 +1,92 @@
+package com.training.management.benchmark;
+
+import com.training.management.TrainingManagementBackendApplication;
+import com.training.management.dto.BulkAttendanceRequest;
+import com.training.management.model.Attendance;
+import com.training.management.model.Batch;
+import com.training.management.model.Trainee;
+import com.training.management.model.Trainer;
+import com.training.management.repository.BatchRepository;
+import com.training.management.repository.TraineeRepository;
+import com.training.management.repository.TrainerRepository;
+import com.training.management.service.AttendanceService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the backend without a web server against the H2 stand-in from the test
+ * resources and seeds it with a configurable data volume.
+ */
+public final class BenchmarkApplication {
+
+    public static final LocalDate FIRST_SESSION = LocalDate.of(2025, 2, 3);
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(TrainingManagementBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+
+    public static List<Batch> seed(ConfigurableApplicationContext context,
+                                   int batches, int traineesPerBatch, int sessionDays) {
+        TrainerRepository trainerRepository = context.getBean(TrainerRepository.class);
+        BatchRepository batchRepository = context.getBean(BatchRepository.class);
+        TraineeRepository traineeRepository = context.getBean(TraineeRepository.class);
+        AttendanceService attendanceService = context.getBean(AttendanceService.class);
+
+        List<Batch> saved = new ArrayList<>();
+        for (int b = 0; b < batches; b++) {
+            Trainer trainer = new Trainer();
+            trainer.setName("Trainer " + b);
+            trainer.setLocation("Location " + (b % 10));
+            trainer = trainerRepository.save(trainer);
+
+            Batch batch = new Batch();
+            batch.setCourseName("Course " + b);
+            batch.setLocation(trainer.getLocation());
+            batch.setTrainerId(trainer.getId());
+            batch.setTrainerName(trainer.getName());
+            batch.setStartDate(FIRST_SESSION.plusDays(b % 30));
+            batch.setEndDate(FIRST_SESSION.plusDays(b % 30 + 90));
+            batch.setMaxCapacity(Integer.MAX_VALUE);
+            batch = batchRepository.save(batch);
+            saved.add(batch);
+
+            List<Trainee> trainees = new ArrayList<>();
+            for (int t = 0; t < traineesPerBatch; t++) {
+                Trainee trainee = new Trainee();
+                trainee.setName("Trainee " + b + "-" + t);
+                trainee.setEmail("seed-" + b + "-" + t + "@example.com");
+                trainee.setPhone("9" + String.format("%09d", b * traineesPerBatch + t));
+                trainee.setBatchId(batch.getId());
+                trainee.setBatchName(batch.getCourseName());
+                trainees.add(trainee);
+            }
+            trainees = traineeRepository.saveAll(trainees);
+
+            for (int day = 0; day < sessionDays; day++) {
+                List<BulkAttendanceRequest.Entry> entries = new ArrayList<>();
+                for (int t = 0; t < trainees.size(); t++) {
+                    Attendance.AttendanceStatus status = Attendance.AttendanceStatus.values()[(t + day) % 3];
+                    entries.add(new BulkAttendanceRequest.Entry(trainees.get(t).getId(), status));
+                }
+                attendanceService.markBulkAttendance(
+                        new BulkAttendanceRequest(batch.getId(), FIRST_SESSION.plusDays(day), entries));
+            }
+        }
+        return saved;
+    }
+}
@@ -0,0 +1,54 @@
+package com.training.management.benchmark;
+
+import com.training.management.model.Batch;
+import com.training.management.model.Trainee;
+import com.training.management.service.TraineeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EnrollmentBenchmark {
+
+    @Param({"20"})
+    public int batches;
+
+    @Param({"40"})
+    public int traineesPerBatch;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private TraineeService traineeService;
+    private List<Batch> seeded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        seeded = BenchmarkApplication.seed(context, batches, traineesPerBatch, 0);
+        traineeService = context.getBean(TraineeService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Trainee enrollTrainee() {
+        long n = sequence.incrementAndGet();
+        Trainee trainee = new Trainee();
+        trainee.setName("Benchmark " + n);
+        trainee.setEmail("bench-" + n + "@example.com");
+        trainee.setPhone("8" + String.format("%09d", n));
+        // Half of the traffic piles onto one popular batch
+        trainee.setBatchId(seeded.get(n % 2 == 0 ? 0 : (int) (n % seeded.size())).getId());
+        return traineeService.enrollTrainee(trainee);
+    }
+}
@@ -0,0 +1,77 @@
+package com.training.management.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.training.management.service.AttendanceService;
+import com.training.management.service.TraineeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full entity lists against ?fields= projections of the same rows: query, hydration and JSON
+ * serialization together. Run with {@code -prof gc} for the allocation rate; bytes per response
+ * are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FieldSelectionBenchmark {
+
+    private static final List<String> ATTENDANCE_FIELDS = List.of("id", "traineeId", "date", "status");
+    private static final List<String> TRAINEE_FIELDS = List.of("id", "name");
+
+    @Param({"50"})
+    public int batches;
+
+    @Param({"40"})
+    public int traineesPerBatch;
+
+    @Param({"20"})
+    public int sessionDays;
+
+    private ConfigurableApplicationContext context;
+    private AttendanceService attendanceService;
+    private TraineeService traineeService;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.seed(context, batches, traineesPerBatch, sessionDays);
+        attendanceService = context.getBean(AttendanceService.class);
+        traineeService = context.getBean(TraineeService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        System.out.printf("%nBytes per response: attendance %d -> %d, trainees %d -> %d%n",
+                attendanceEntities().length, attendanceFields().length,
+                traineeEntities().length, traineeFields().length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] attendanceEntities() throws Exception {
+        return objectMapper.writeValueAsBytes(attendanceService.getAllAttendance(false));
+    }
+
+    @Benchmark
+    public byte[] attendanceFields() throws Exception {
+        return objectMapper.writeValueAsBytes(attendanceService.getAllAttendanceFields(ATTENDANCE_FIELDS, false));
+    }
+
+    @Benchmark
+    public byte[] traineeEntities() throws Exception {
+        return objectMapper.writeValueAsBytes(traineeService.getAllTrainees());
+    }
+
+    @Benchmark
+    public byte[] traineeFields() throws Exception {
+        return objectMapper.writeValueAsBytes(traineeService.getTraineeFields(TRAINEE_FIELDS, 0, Limit.unlimited()));
+    }
+}
@@ -0,0 +1,65 @@
+package com.training.management.benchmark;
+
+import com.training.management.controller.ReportController;
+import com.training.management.model.Batch;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReportBenchmark {
+
+    @Param({"50"})
+    public int batches;
+
+    @Param({"40"})
+    public int traineesPerBatch;
+
+    @Param({"30"})
+    public int sessionDays;
+
+    private ConfigurableApplicationContext context;
+    private ReportController reportController;
+    private Long batchId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        List<Batch> seeded = BenchmarkApplication.seed(context, batches, traineesPerBatch, sessionDays);
+        reportController = context.getBean(ReportController.class);
+        batchId = seeded.get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<List<Map<String, Object>>> attendanceTrends() {
+        return reportController.getAttendanceTrends();
+    }
+
+    @Benchmark
+    public ResponseEntity<List<Map<String, Object>>> attendanceTrendsByBatch() {
+        return reportController.getAttendanceTrendsByBatch(batchId);
+    }
+
+    @Benchmark
+    public ResponseEntity<List<Map<String, Object>>> trainerOccupancy() {
+        return reportController.getTrainerOccupancy(
+                BenchmarkApplication.FIRST_SESSION, BenchmarkApplication.FIRST_SESSION.plusDays(60));
+    }
+
+    @Benchmark
+    public ResponseEntity<List<Map<String, Object>>> batchEnrollments() {
+        return reportController.getBatchEnrollments();
+    }
+}
@@ -0,0 +1,44 @@
+package com.training.management.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.training.management.model.Attendance;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SerializationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private ObjectWriter writer;
+    private List<Attendance> attendance;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Same module setup as the application's ObjectMapper
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, Attendance.class));
+
+        attendance = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            attendance.add(new Attendance((long) i, (long) (i % 5000), "Trainee " + (i % 5000),
+                    (long) (i % 50), "Java Full Stack Development",
+                    BenchmarkApplication.FIRST_SESSION.plusDays(i % 90),
+                    Attendance.AttendanceStatus.values()[i % 3]));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeAttendanceList() throws Exception {
+        return writer.writeValueAsBytes(attendance);
+    }
+}
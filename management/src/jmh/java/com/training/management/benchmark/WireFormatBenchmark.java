@@ -0,0 +1,88 @@
+package com.training.management.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.training.management.model.Attendance;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * One attendance list response end to end without the network: encode (and gzip, as Tomcat would),
+ * then gunzip and decode into objects, as a client would. Bytes on the wire are printed per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WireFormatBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<Attendance> attendance;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Same date handling as the application's converters
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            default -> Jackson2ObjectMapperBuilder.json();
+        };
+        ObjectMapper objectMapper = builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        CollectionType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, Attendance.class);
+        writer = objectMapper.writerFor(listType);
+        reader = objectMapper.readerFor(listType);
+
+        attendance = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            attendance.add(new Attendance((long) i, (long) (i % 5000), "Trainee " + (i % 5000),
+                    (long) (i % 50), "Java Full Stack Development",
+                    BenchmarkApplication.FIRST_SESSION.plusDays(i % 90),
+                    Attendance.AttendanceStatus.values()[i % 3]));
+        }
+        System.out.printf("%nBytes on the wire (%d rows, %s, gzip=%b): %d%n", rows, format, gzip, encode().length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        if (!gzip) {
+            return writer.writeValueAsBytes(attendance);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream compressed = new GZIPOutputStream(out, 8192)) {
+            writer.writeValue(compressed, attendance);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public List<Attendance> roundTrip() throws IOException {
+        byte[] body = encode();
+        try (InputStream in = gzip
+                ? new GZIPInputStream(new ByteArrayInputStream(body), 8192)
+                : new ByteArrayInputStream(body)) {
+            return reader.readValue(in);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.training.management.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+// @Async methods use Boot's applicationTaskExecutor, which switches to virtual threads under the vthreads profile
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,22 @@
+package com.training.management.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET handler whose response depends only on the listed tables (see TableVersions).
+ * ConditionalGetInterceptor answers a matching If-None-Match with 304 before the handler runs.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+    String[] tables();
+
+    String cacheControl() default "no-cache";
+
+    // For responses that also depend on today's date, e.g. reports defaulting to the current month
+    boolean perDay() default false;
+}
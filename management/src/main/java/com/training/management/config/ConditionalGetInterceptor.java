@@ -0,0 +1,94 @@
+package com.training.management.config;
+
+import com.training.management.service.TableVersions;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.HeaderContentNegotiationStrategy;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    // In message converter order
+    private static final List<MediaType> FORMATS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR,
+            new MediaType("application", "x-jackson-smile"));
+    private static final HeaderContentNegotiationStrategy ACCEPT_HEADER = new HeaderContentNegotiationStrategy();
+    private static final String READ_SCOPE_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".readScope";
+
+    private final TableVersions tableVersions;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || !(HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod()))) {
+            return true;
+        }
+        ConditionalGet conditionalGet = handlerMethod.getMethodAnnotation(ConditionalGet.class);
+        if (conditionalGet == null) {
+            return true;
+        }
+
+        // Versions are read before the handler queries, so a concurrent write can only make the tag older
+        String etag = tableVersions.etag(conditionalGet.tables());
+        if (conditionalGet.perDay()) {
+            etag = withSuffix(etag, LocalDate.now().toString());
+        }
+        // JSON, CBOR and Smile renderings of the same versions are different representations
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        MediaType format = negotiate(webRequest);
+        if (format != null && !format.equals(MediaType.APPLICATION_JSON)) {
+            etag = withSuffix(etag, format.getSubtype());
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, conditionalGet.cacheControl());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        // Sets the ETag header, and the 304 status when If-None-Match matches
+        if (webRequest.checkNotModified(etag)) {
+            return false;
+        }
+        // Only writes to these tables keep the handler's reads off the replicas
+        request.setAttribute(READ_SCOPE_ATTRIBUTE, TableVersions.readScope(conditionalGet.tables()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(READ_SCOPE_ATTRIBUTE) instanceof TableVersions.ReadScope readScope) {
+            readScope.close();
+        }
+    }
+
+    // The type the message converters will pick: the client's preferred acceptable type, JSON first on ties
+    private static MediaType negotiate(ServletWebRequest webRequest) {
+        List<MediaType> acceptable;
+        try {
+            acceptable = ACCEPT_HEADER.resolveMediaTypes(webRequest);
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return null;
+        }
+        for (MediaType accepted : acceptable) {
+            for (MediaType format : FORMATS) {
+                if (accepted.isCompatibleWith(format)) {
+                    return format;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String withSuffix(String etag, String suffix) {
+        return etag.substring(0, etag.length() - 1) + "-" + suffix + "\"";
+    }
+}
@@ -0,0 +1,46 @@
+package com.training.management.config;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Connection budget used to size the Hikari pool: the database's max_connections is shared
+ * between all backend instances, minus connections reserved for admin and migration tools.
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.datasource.pool")
+public class ConnectionPoolProperties {
+
+    @Min(1)
+    private int maxDatabaseConnections = 150;
+
+    @Min(0)
+    private int reservedConnections = 10;
+
+    @Min(1)
+    private int instances = 1;
+
+    @Min(1)
+    @Max(16)
+    private int connectionsPerCore = 2;
+
+    @Min(2)
+    private int minimumPoolSize = 2;
+
+    @AssertTrue(message = "reserved-connections must leave at least minimum-pool-size connections per instance")
+    public boolean isBudgetSufficient() {
+        return (maxDatabaseConnections - reservedConnections) / instances >= minimumPoolSize;
+    }
+
+    // Enough connections to keep every core busy while others wait on I/O, never more than this instance's share
+    public int poolSize(int availableProcessors) {
+        int byCores = availableProcessors * connectionsPerCore + 1;
+        int byDatabase = (maxDatabaseConnections - reservedConnections) / instances;
+        return Math.max(minimumPoolSize, Math.min(byCores, byDatabase));
+    }
+}
@@ -1,5 +1,6 @@
 package com.training.management.config;
 
+import com.training.management.util.KeysetPaging;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
@@ -27,7 +28,8 @@ public class CorsConfig {
                 "Authorization",
                 "X-Requested-With",
                 "Access-Control-Request-Method",
-                "Access-Control-Request-Headers"
+                "Access-Control-Request-Headers",
+                "If-None-Match"
         ));
         corsConfiguration.setExposedHeaders(Arrays.asList(
                 "Origin",
@@ -35,7 +37,10 @@ public class CorsConfig {
                 "Accept",
                 "Authorization",
                 "Access-Control-Allow-Origin",
-                "Access-Control-Allow-Credentials"
+                "Access-Control-Allow-Credentials",
+                "ETag",
+                "Cache-Control",
+                KeysetPaging.NEXT_AFTER_HEADER
         ));
         corsConfiguration.setAllowedMethods(Arrays.asList(
                 "GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"
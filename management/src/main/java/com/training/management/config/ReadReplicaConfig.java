@@ -0,0 +1,99 @@
+package com.training.management.config;
+
+import com.training.management.service.TableVersions;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends read-only transactions ({@code @Transactional(readOnly = true)}, Spring Data's read methods,
+ * NDJSON and export streams) to the replicas in app.datasource.replicas.urls. The lazy proxy only
+ * fetches a physical connection at the first statement, once the transaction has marked it
+ * read-only; everything else, including reads inside write transactions, stays on the primary.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaDataSource replicaDataSource(HikariDataSource primaryDataSource, DataSourceProperties primary,
+                                               ReadReplicaProperties properties, TableVersions tableVersions) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : properties.getUrls()) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setJdbcUrl(url);
+            replica.setDriverClassName(primary.determineDriverClassName());
+            replica.setUsername(properties.getUsername() != null ? properties.getUsername() : primary.determineUsername());
+            replica.setPassword(properties.getPassword() != null ? properties.getPassword() : primary.determinePassword());
+            replica.setMaximumPoolSize(properties.getPoolSize());
+            replica.setReadOnly(true);
+            // A dead replica costs the health check, or a read falling back to the primary, this long at most
+            replica.setConnectionTimeout(properties.getHealthCheckTimeout().toMillis());
+            replica.setValidationTimeout(properties.getHealthCheckTimeout().toMillis());
+            // Start even if a replica is down; the health check brings it into rotation later
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+        ReplicaDataSource dataSource = new ReplicaDataSource(primaryDataSource, replicas, tableVersions, properties);
+        log.info("Routing read-only transactions to {} replicas ({} healthy)", replicas.size(), dataSource.healthyReplicas());
+        return dataSource;
+    }
+
+    // Repository reads outside a declared read scope are scoped to the repository's own table. @Query
+    // methods may join other tables, so they stay unscoped and any recent write keeps them on the primary.
+    @Bean
+    public static BeanPostProcessor repositoryReadScopes() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repository) -> proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+                                if (AnnotatedElementUtils.hasAnnotation(invocation.getMethod(), Query.class)) {
+                                    return invocation.proceed();
+                                }
+                                try (TableVersions.ReadScope scope = TableVersions.readScope(repository.getDomainType())) {
+                                    return invocation.proceed();
+                                }
+                            })));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
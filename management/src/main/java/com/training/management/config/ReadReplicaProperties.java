@@ -0,0 +1,48 @@
+package com.training.management.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replica datasources that serve read-only transactions. Credentials and driver default to the
+ * primary's (spring.datasource.*); a replica is skipped while it fails health checks.
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.datasource.replicas")
+public class ReadReplicaProperties {
+
+    private boolean enabled;
+
+    @NotEmpty
+    private List<String> urls = new ArrayList<>();
+
+    private String username;
+
+    private String password;
+
+    @Min(1)
+    private int poolSize = 10;
+
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    private Duration healthCheckTimeout = Duration.ofSeconds(2);
+
+    // Replicas further behind than this are taken out of rotation, and a read waits this long at most
+    // for a replica to apply the primary's binlog position before going to the primary instead
+    @NotNull
+    private Duration maxLag = Duration.ofSeconds(1);
+
+    // Reads of a table this soon after a local commit to it go straight to the primary instead of waiting
+    // for a replica to catch up; correctness does not depend on it
+    @NotNull
+    private Duration readYourWritesWindow = Duration.ofSeconds(2);
+}
@@ -0,0 +1,180 @@
+package com.training.management.config;
+
+import com.training.management.service.TableVersions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections for read-only transactions: round-robin over the replicas that passed
+ * their last health check, falling back to the primary when none did, when a replica refuses a
+ * connection, or when this instance committed a write to a table being read (see
+ * {@link TableVersions#readScope}) within the read-your-writes window.
+ * <p>
+ * A replica connection is only handed out once the replica has applied the primary's binlog up to
+ * the position read when the connection is requested (MASTER_GTID_WAIT, bounded by max-lag). Every
+ * write committed before the read started, on any instance, is therefore visible to it; in particular
+ * a body is never older than the ETag versions read before the handler ran. A replica that does not
+ * catch up in time is passed over for this read.
+ */
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final TableVersions tableVersions;
+    private final ReadReplicaProperties properties;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaDataSource(DataSource primary, List<DataSource> replicas, TableVersions tableVersions,
+                             ReadReplicaProperties properties) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.tableVersions = tableVersions;
+        this.properties = properties;
+        checkHealth();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (healthyReplicas() == 0 || tableVersions.writtenWithin(properties.getReadYourWritesWindow())) {
+            return primary.getConnection();
+        }
+        String position;
+        try (Connection connection = primary.getConnection()) {
+            position = primaryPosition(connection);
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+            Connection connection = null;
+            try {
+                connection = replica.dataSource.getConnection();
+                if (awaitPosition(connection, position, properties.getMaxLag())) {
+                    return connection;
+                }
+                log.debug("Replica {} did not reach {} within {}", replica.dataSource, position, properties.getMaxLag());
+                connection.close();
+            } catch (SQLException e) {
+                closeQuietly(connection);
+                replica.markHealthy(false, e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica credentials come from app.datasource.replicas");
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.health-check-interval:5s}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid((int) Math.max(1, properties.getHealthCheckTimeout().toSeconds()))) {
+                    replica.markHealthy(false, "connection is not valid");
+                } else {
+                    Duration lag = replicationLag(connection);
+                    replica.markHealthy(lag != null && lag.compareTo(properties.getMaxLag()) <= 0,
+                            lag == null ? "replication is not running" : "replication lag is " + lag);
+                }
+            } catch (SQLException e) {
+                replica.markHealthy(false, e.getMessage());
+            }
+        }
+    }
+
+    public int healthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    // Closes the replica pools; the primary is a bean of its own
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable pool) {
+                try {
+                    pool.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close replica {}", replica.dataSource, e);
+                }
+            }
+        }
+    }
+
+    // The GTID set the primary has written to its binlog, i.e. every transaction committed so far
+    protected String primaryPosition(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select @@gtid_binlog_pos")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    // MASTER_GTID_WAIT returns 0 once the replica has applied the position, -1 on timeout
+    protected boolean awaitPosition(Connection connection, String position, Duration timeout) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("select master_gtid_wait(?, ?)")) {
+            statement.setString(1, position);
+            statement.setDouble(2, timeout.toMillis() / 1000.0);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 0;
+            }
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.debug("Failed to close replica connection", e);
+            }
+        }
+    }
+
+    // Seconds_Behind_Master is NULL while the replica's SQL or IO thread is stopped
+    protected Duration replicationLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("show replica status")) {
+            if (!rs.next()) {
+                return null;
+            }
+            long seconds = rs.getLong("Seconds_Behind_Master");
+            return rs.wasNull() ? null : Duration.ofSeconds(seconds);
+        }
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+
+        Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        void markHealthy(boolean healthy, String reason) {
+            if (this.healthy && !healthy) {
+                log.warn("Replica {} taken out of rotation: {}", dataSource, reason);
+            } else if (!this.healthy && healthy) {
+                log.info("Replica {} back in rotation", dataSource);
+            }
+            this.healthy = healthy;
+        }
+    }
+}
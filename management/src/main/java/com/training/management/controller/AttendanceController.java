@@ -1,14 +1,27 @@
 package com.training.management.controller;
 
+import com.training.management.dto.BulkAttendanceRequest;
 import com.training.management.model.Attendance;
+import com.training.management.service.AttendanceFeedService;
 import com.training.management.service.AttendanceService;
+import com.training.management.service.AttendanceWriteBehindService;
+import com.training.management.util.FieldSelection;
+import com.training.management.util.KeysetPaging;
+import com.training.management.util.NdjsonStreamer;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/attendance")
@@ -17,44 +30,121 @@ import java.util.List;
 public class AttendanceController {
 
     private final AttendanceService attendanceService;
+    private final AttendanceFeedService attendanceFeedService;
+    private final NdjsonStreamer ndjsonStreamer;
+    private final Optional<AttendanceWriteBehindService> writeBehind;
 
     @GetMapping
-    public ResponseEntity<List<Attendance>> getAllAttendance() {
-        return ResponseEntity.ok(attendanceService.getAllAttendance());
+    public ResponseEntity<?> getAllAttendance(@RequestParam(required = false) Long after,
+                                              @RequestParam(required = false) Integer limit,
+                                              @RequestParam(defaultValue = "false") boolean history,
+                                              @RequestParam(required = false) String fields) {
+        if (FieldSelection.isRequested(fields)) {
+            List<String> selected = FieldSelection.parse(fields);
+            if (!KeysetPaging.isRequested(after, limit)) {
+                return ResponseEntity.ok(attendanceService.getAllAttendanceFields(selected, history));
+            }
+            Limit pageLimit = KeysetPaging.limit(limit);
+            return FieldSelection.page(attendanceService.getAttendanceFields(selected, KeysetPaging.after(after), pageLimit), pageLimit);
+        }
+        if (!KeysetPaging.isRequested(after, limit)) {
+            return ResponseEntity.ok(attendanceService.getAllAttendance(history));
+        }
+        Limit pageLimit = KeysetPaging.limit(limit);
+        return KeysetPaging.page(attendanceService.getAttendanceAfter(KeysetPaging.after(after), pageLimit), pageLimit, Attendance::getId);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllAttendance() {
+        return ndjsonStreamer.response(attendanceService::streamAllAttendance);
+    }
+
+    // Live check-ins for one batch and day (defaults to today), pushed as they commit
+    @GetMapping(value = "/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribeToFeed(
+            @RequestParam Long batchId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return attendanceFeedService.subscribe(batchId, date != null ? date : LocalDate.now())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
     }
 
     @PostMapping("/mark")
-    public ResponseEntity<Attendance> markAttendance(@RequestBody Attendance attendance) {
+    public ResponseEntity<Attendance> markAttendance(@Valid @RequestBody Attendance attendance) {
+        // With write-behind enabled a new check-in is acknowledged once journaled and saved in the next flush
+        if (writeBehind.isPresent() && writeBehind.get().enqueue(attendance)) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(attendance);
+        }
+        if (!writeBehindFlushed()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        // A mark carrying an id edits that record, which has to exist
+        if (attendance.getId() != null) {
+            return attendanceService.updateAttendance(attendance.getId(), attendance)
+                    .map(saved -> ResponseEntity.status(HttpStatus.CREATED).body(saved))
+                    .orElse(ResponseEntity.notFound().build());
+        }
         Attendance savedAttendance = attendanceService.markAttendance(attendance);
         return ResponseEntity.status(HttpStatus.CREATED).body(savedAttendance);
     }
 
+    @PostMapping("/mark/bulk")
+    public ResponseEntity<List<Attendance>> markBulkAttendance(@Valid @RequestBody BulkAttendanceRequest request) {
+        if (request.getBatchId() == null || request.getDate() == null || request.getEntries() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!writeBehindFlushed()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        List<Attendance> savedAttendance = attendanceService.markBulkAttendance(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(savedAttendance);
+    }
+
     @GetMapping("/trainee/{traineeId}")
-    public ResponseEntity<List<Attendance>> getAttendanceByTrainee(@PathVariable Long traineeId) {
-        return ResponseEntity.ok(attendanceService.getAttendanceByTrainee(traineeId));
+    public ResponseEntity<List<Attendance>> getAttendanceByTrainee(@PathVariable Long traineeId,
+                                                                   @RequestParam(defaultValue = "false") boolean history) {
+        return ResponseEntity.ok(attendanceService.getAttendanceByTrainee(traineeId, history));
     }
 
     @GetMapping("/batch/{batchId}")
-    public ResponseEntity<List<Attendance>> getAttendanceByBatch(@PathVariable Long batchId) {
-        return ResponseEntity.ok(attendanceService.getAttendanceByBatch(batchId));
+    public ResponseEntity<List<Attendance>> getAttendanceByBatch(@PathVariable Long batchId,
+                                                                 @RequestParam(defaultValue = "false") boolean history) {
+        return ResponseEntity.ok(attendanceService.getAttendanceByBatch(batchId, history));
     }
 
     @GetMapping("/date/{date}")
-    public ResponseEntity<List<Attendance>> getAttendanceByDate(@PathVariable String date) {
+    public ResponseEntity<List<Attendance>> getAttendanceByDate(@PathVariable String date,
+                                                                @RequestParam(defaultValue = "false") boolean history) {
         LocalDate localDate = LocalDate.parse(date);
-        return ResponseEntity.ok(attendanceService.getAttendanceByDate(localDate));
+        return ResponseEntity.ok(attendanceService.getAttendanceByDate(localDate, history));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAttendance(@PathVariable Long id) {
+        if (!writeBehindFlushed()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
         attendanceService.deleteAttendance(id);
         return ResponseEntity.noContent().build();
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Attendance> updateAttendance(@PathVariable Long id, @RequestBody Attendance attendance) {
-        attendance.setId(id);
-        Attendance updatedAttendance = attendanceService.markAttendance(attendance);
-        return ResponseEntity.ok(updatedAttendance);
+    public ResponseEntity<Attendance> updateAttendance(@PathVariable Long id, @Valid @RequestBody Attendance attendance) {
+        if (!writeBehindFlushed()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return attendanceService.updateAttendance(id, attendance)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Synchronous writes wait for check-ins acknowledged before them, so they cannot be overwritten by them later
+    private boolean writeBehindFlushed() {
+        try {
+            return writeBehind.isEmpty() || writeBehind.get().awaitFlushed();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 }
\ No newline at end of file
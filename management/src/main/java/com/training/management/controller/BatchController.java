@@ -1,15 +1,24 @@
 package com.training.management.controller;
 
+import com.training.management.config.ConditionalGet;
 import com.training.management.model.Batch;
 import com.training.management.model.Trainee;
 import com.training.management.service.BatchService;
+import com.training.management.service.TableVersions;
 import com.training.management.service.TraineeService;
+import com.training.management.util.FieldSelection;
+import com.training.management.util.KeysetPaging;
+import com.training.management.util.NdjsonStreamer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/batches")
@@ -19,12 +28,34 @@ public class BatchController {
 
     private final BatchService batchService;
     private final TraineeService traineeService;
+    private final NdjsonStreamer ndjsonStreamer;
 
+    @ConditionalGet(tables = TableVersions.BATCHES)
     @GetMapping
-    public ResponseEntity<List<Batch>> getAllBatches() {
-        return ResponseEntity.ok(batchService.getAllBatches());
+    public ResponseEntity<?> getAllBatches(@RequestParam(required = false) Long after,
+                                           @RequestParam(required = false) Integer limit,
+                                           @RequestParam(required = false) String fields) {
+        if (FieldSelection.isRequested(fields)) {
+            List<String> selected = FieldSelection.parse(fields);
+            if (!KeysetPaging.isRequested(after, limit)) {
+                return ResponseEntity.ok(batchService.getBatchFields(selected, 0, Limit.unlimited()));
+            }
+            Limit pageLimit = KeysetPaging.limit(limit);
+            return FieldSelection.page(batchService.getBatchFields(selected, KeysetPaging.after(after), pageLimit), pageLimit);
+        }
+        if (!KeysetPaging.isRequested(after, limit)) {
+            return ResponseEntity.ok(batchService.getAllBatches());
+        }
+        Limit pageLimit = KeysetPaging.limit(limit);
+        return KeysetPaging.page(batchService.getBatchesAfter(KeysetPaging.after(after), pageLimit), pageLimit, Batch::getId);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllBatches() {
+        return ndjsonStreamer.response(batchService::streamAllBatches);
+    }
+
+    @ConditionalGet(tables = TableVersions.BATCHES)
     @GetMapping("/{id}")
     public ResponseEntity<Batch> getBatchById(@PathVariable Long id) {
         return batchService.getBatchById(id)
@@ -38,13 +69,15 @@ public class BatchController {
         return ResponseEntity.status(HttpStatus.CREATED).body(savedBatch);
     }
 
+    @ConditionalGet(tables = {TableVersions.BATCHES, TableVersions.TRAINERS, TableVersions.TRAINEES, TableVersions.ATTENDANCE})
     @GetMapping("/{id}/details")
-    public ResponseEntity<Batch> getBatchDetails(@PathVariable Long id) {
-        return batchService.getBatchById(id)
+    public ResponseEntity<Map<String, Object>> getBatchDetails(@PathVariable Long id) {
+        return batchService.getBatchDetails(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @ConditionalGet(tables = TableVersions.BATCHES)
     @GetMapping("/location/{location}")
     public ResponseEntity<List<Batch>> getBatchesByLocation(@PathVariable String location) {
         return ResponseEntity.ok(batchService.getBatchesByLocation(location));
@@ -56,6 +89,7 @@ public class BatchController {
         return ResponseEntity.noContent().build();
     }
 
+    @ConditionalGet(tables = TableVersions.TRAINEES)
     @GetMapping("/{batchId}/trainees")
     public ResponseEntity<List<Trainee>> getBatchTrainees(@PathVariable Long batchId) {
         return ResponseEntity.ok(traineeService.getTraineesByBatch(batchId));
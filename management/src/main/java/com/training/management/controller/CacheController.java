@@ -0,0 +1,45 @@
+package com.training.management.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final CacheManager cacheManager;
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<Map<String, Object>>> getCacheStats() {
+        List<Map<String, Object>> stats = cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .map(cache -> cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(CaffeineCache.class::cast)
+                .map(cache -> {
+                    CacheStats s = cache.getNativeCache().stats();
+                    Map<String, Object> data = new LinkedHashMap<>();
+                    data.put("cacheName", cache.getName());
+                    data.put("size", cache.getNativeCache().estimatedSize());
+                    data.put("hitCount", s.hitCount());
+                    data.put("missCount", s.missCount());
+                    data.put("hitRate", s.hitRate());
+                    data.put("evictionCount", s.evictionCount());
+                    return data;
+                })
+                .toList();
+
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -1,11 +1,19 @@
 package com.training.management.controller;
 
+import com.training.management.config.ConditionalGet;
 import com.training.management.model.Course;
 import com.training.management.service.CourseService;
+import com.training.management.service.TableVersions;
+import com.training.management.util.FieldSelection;
+import com.training.management.util.KeysetPaging;
+import com.training.management.util.NdjsonStreamer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -16,12 +24,34 @@ import java.util.List;
 public class CourseController {
 
     private final CourseService courseService;
+    private final NdjsonStreamer ndjsonStreamer;
 
+    @ConditionalGet(tables = TableVersions.COURSES)
     @GetMapping
-    public ResponseEntity<List<Course>> getAllCourses() {
-        return ResponseEntity.ok(courseService.getAllCourses());
+    public ResponseEntity<?> getAllCourses(@RequestParam(required = false) Long after,
+                                           @RequestParam(required = false) Integer limit,
+                                           @RequestParam(required = false) String fields) {
+        if (FieldSelection.isRequested(fields)) {
+            List<String> selected = FieldSelection.parse(fields);
+            if (!KeysetPaging.isRequested(after, limit)) {
+                return ResponseEntity.ok(courseService.getCourseFields(selected, 0, Limit.unlimited()));
+            }
+            Limit pageLimit = KeysetPaging.limit(limit);
+            return FieldSelection.page(courseService.getCourseFields(selected, KeysetPaging.after(after), pageLimit), pageLimit);
+        }
+        if (!KeysetPaging.isRequested(after, limit)) {
+            return ResponseEntity.ok(courseService.getAllCourses());
+        }
+        Limit pageLimit = KeysetPaging.limit(limit);
+        return KeysetPaging.page(courseService.getCoursesAfter(KeysetPaging.after(after), pageLimit), pageLimit, Course::getId);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllCourses() {
+        return ndjsonStreamer.response(courseService::streamAllCourses);
+    }
+
+    @ConditionalGet(tables = TableVersions.COURSES)
     @GetMapping("/{id}")
     public ResponseEntity<Course> getCourseById(@PathVariable Long id) {
         return courseService.getCourseById(id)
@@ -47,6 +77,7 @@ public class CourseController {
         return ResponseEntity.noContent().build();
     }
 
+    @ConditionalGet(tables = TableVersions.COURSES)
     @GetMapping("/category/{category}")
     public ResponseEntity<List<Course>> getCoursesByCategory(@PathVariable String category) {
         return ResponseEntity.ok(courseService.getCoursesByCategory(category));
@@ -1,14 +1,27 @@
 package com.training.management.controller;
 
+import com.training.management.config.ConditionalGet;
+import com.training.management.service.AttendanceRollupService;
 import com.training.management.service.BatchService;
-import com.training.management.service.TrainerService;
+import com.training.management.service.ReportExportService;
+import com.training.management.service.ReportExportService.Format;
+import com.training.management.service.ReportExportService.Report;
+import com.training.management.service.ReportService;
+import com.training.management.service.TableVersions;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/reports")
@@ -16,26 +29,63 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class ReportController {
 
-    private final TrainerService trainerService;
+    // Dashboard polls within this window are served from the browser cache without a request
+    private static final String REPORT_CACHE_CONTROL = "private, max-age=15";
+
     private final BatchService batchService;
+    private final ReportService reportService;
+    private final AttendanceRollupService attendanceRollupService;
+    private final ReportExportService reportExportService;
 
+    @ConditionalGet(tables = {TableVersions.TRAINERS, TableVersions.BATCHES}, cacheControl = REPORT_CACHE_CONTROL, perDay = true)
     @GetMapping("/trainer-occupancy")
-    public ResponseEntity<List<Map<String, Object>>> getTrainerOccupancy() {
-        // Mock data for now - you can enhance this with actual logic
-        var trainers = trainerService.getAllTrainers();
-        List<Map<String, Object>> occupancyData = trainers.stream()
-                .map(trainer -> {
-                    Map<String, Object> data = new HashMap<>();
-                    data.put("trainerName", trainer.getName());
-                    data.put("availableDays", 20);
-                    data.put("occupiedDays", trainer.getAssigned() ? 15 : 0);
-                    return data;
-                })
-                .toList();
+    public ResponseEntity<List<Map<String, Object>>> getTrainerOccupancy(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate windowStart = windowStart(from);
+        LocalDate windowEnd = windowEnd(windowStart, to);
+        if (windowEnd.isBefore(windowStart)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(reportService.getTrainerOccupancy(windowStart, windowEnd));
+    }
+
+    // Streamed as it is read, so there is no Content-Length and memory does not grow with the row count
+    @GetMapping("/export/{report}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String report,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "csv") String format) {
+        Optional<Report> exportReport = Report.fromPath(report);
+        if (exportReport.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Optional<Format> exportFormat = Format.fromParam(format);
+        LocalDate windowStart = windowStart(from);
+        LocalDate windowEnd = windowEnd(windowStart, to);
+        if (exportFormat.isEmpty() || windowEnd.isBefore(windowStart)) {
+            return ResponseEntity.badRequest().build();
+        }
 
-        return ResponseEntity.ok(occupancyData);
+        String fileName = exportReport.get().fileName() + "-" + windowStart + "-to-" + windowEnd
+                + "." + exportFormat.get().extension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.get().contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(out -> reportExportService.export(exportReport.get(), exportFormat.get(), windowStart, windowEnd, out));
     }
 
+    // Report windows default to the current calendar month
+    private static LocalDate windowStart(LocalDate from) {
+        return from != null ? from : LocalDate.now().withDayOfMonth(1);
+    }
+
+    private static LocalDate windowEnd(LocalDate windowStart, LocalDate to) {
+        return to != null ? to : windowStart.withDayOfMonth(windowStart.lengthOfMonth());
+    }
+
+    @ConditionalGet(tables = TableVersions.BATCHES, cacheControl = REPORT_CACHE_CONTROL)
     @GetMapping("/batch-enrollments")
     public ResponseEntity<List<Map<String, Object>>> getBatchEnrollments() {
         var batches = batchService.getAllBatches();
@@ -51,29 +101,21 @@ public class ReportController {
         return ResponseEntity.ok(enrollmentData);
     }
 
+    @ConditionalGet(tables = TableVersions.ATTENDANCE, cacheControl = REPORT_CACHE_CONTROL)
     @GetMapping("/attendance-trends")
     public ResponseEntity<List<Map<String, Object>>> getAttendanceTrends() {
-        // Mock attendance trend data
-        List<Map<String, Object>> trendData = List.of(
-                Map.of("session", "Session 1", "attendanceRate", 92),
-                Map.of("session", "Session 2", "attendanceRate", 88),
-                Map.of("session", "Session 3", "attendanceRate", 85),
-                Map.of("session", "Session 4", "attendanceRate", 90),
-                Map.of("session", "Session 5", "attendanceRate", 87)
-        );
-
-        return ResponseEntity.ok(trendData);
+        return ResponseEntity.ok(reportService.getAttendanceTrends());
     }
 
+    @ConditionalGet(tables = TableVersions.ATTENDANCE, cacheControl = REPORT_CACHE_CONTROL)
     @GetMapping("/attendance-trends/{batchId}")
     public ResponseEntity<List<Map<String, Object>>> getAttendanceTrendsByBatch(@PathVariable Long batchId) {
-        // Mock data for specific batch
-        List<Map<String, Object>> trendData = List.of(
-                Map.of("session", "Session 1", "attendanceRate", 95),
-                Map.of("session", "Session 2", "attendanceRate", 90),
-                Map.of("session", "Session 3", "attendanceRate", 88)
-        );
+        return ResponseEntity.ok(reportService.getAttendanceTrendsByBatch(batchId));
+    }
 
-        return ResponseEntity.ok(trendData);
+    @PostMapping("/attendance-rollup/rebuild")
+    public ResponseEntity<Void> rebuildAttendanceRollup() {
+        attendanceRollupService.rebuild();
+        return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
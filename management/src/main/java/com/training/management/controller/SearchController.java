@@ -0,0 +1,33 @@
+package com.training.management.controller;
+
+import com.training.management.config.ConditionalGet;
+import com.training.management.service.SearchService;
+import com.training.management.service.TableVersions;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 100;
+
+    private final SearchService searchService;
+
+    @ConditionalGet(tables = {TableVersions.TRAINEES, TableVersions.TRAINERS, TableVersions.COURSES})
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> search(@RequestParam String q,
+                                                      @RequestParam(defaultValue = "0") int offset,
+                                                      @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit) {
+        if (offset < 0 || limit <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(searchService.search(q, offset, Math.min(limit, MAX_LIMIT)));
+    }
+}
@@ -1,12 +1,25 @@
 package com.training.management.controller;
 
+import com.training.management.dto.TraineeImportResult;
 import com.training.management.model.Trainee;
+import com.training.management.service.TraineeImportService;
 import com.training.management.service.TraineeService;
+import com.training.management.util.FieldSelection;
+import com.training.management.util.KeysetPaging;
+import com.training.management.util.NdjsonStreamer;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -16,10 +29,31 @@ import java.util.List;
 public class TraineeController {
 
     private final TraineeService traineeService;
+    private final TraineeImportService traineeImportService;
+    private final NdjsonStreamer ndjsonStreamer;
 
     @GetMapping
-    public ResponseEntity<List<Trainee>> getAllTrainees() {
-        return ResponseEntity.ok(traineeService.getAllTrainees());
+    public ResponseEntity<?> getAllTrainees(@RequestParam(required = false) Long after,
+                                            @RequestParam(required = false) Integer limit,
+                                            @RequestParam(required = false) String fields) {
+        if (FieldSelection.isRequested(fields)) {
+            List<String> selected = FieldSelection.parse(fields);
+            if (!KeysetPaging.isRequested(after, limit)) {
+                return ResponseEntity.ok(traineeService.getTraineeFields(selected, 0, Limit.unlimited()));
+            }
+            Limit pageLimit = KeysetPaging.limit(limit);
+            return FieldSelection.page(traineeService.getTraineeFields(selected, KeysetPaging.after(after), pageLimit), pageLimit);
+        }
+        if (!KeysetPaging.isRequested(after, limit)) {
+            return ResponseEntity.ok(traineeService.getAllTrainees());
+        }
+        Limit pageLimit = KeysetPaging.limit(limit);
+        return KeysetPaging.page(traineeService.getTraineesAfter(KeysetPaging.after(after), pageLimit), pageLimit, Trainee::getId);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllTrainees() {
+        return ndjsonStreamer.response(traineeService::streamAllTrainees);
     }
 
     @GetMapping("/{id}")
@@ -35,6 +69,18 @@ public class TraineeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(savedTrainee);
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<TraineeImportResult> importTrainees(@RequestParam("file") MultipartFile file) throws IOException {
+        return ResponseEntity.ok(traineeImportService.importTrainees(
+                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)));
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<TraineeImportResult> importTrainees(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(traineeImportService.importTrainees(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)));
+    }
+
     @GetMapping("/batch/{batchId}")
     public ResponseEntity<List<Trainee>> getTraineesByBatch(@PathVariable Long batchId) {
         return ResponseEntity.ok(traineeService.getTraineesByBatch(batchId));
@@ -1,12 +1,22 @@
 package com.training.management.controller;
 
+import com.training.management.config.ConditionalGet;
 import com.training.management.model.Trainer;
 import com.training.management.service.TrainerService;
+import com.training.management.service.TableVersions;
+import com.training.management.util.FieldSelection;
+import com.training.management.util.KeysetPaging;
+import com.training.management.util.NdjsonStreamer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -16,12 +26,34 @@ import java.util.List;
 public class TrainerController {
 
     private final TrainerService trainerService;
+    private final NdjsonStreamer ndjsonStreamer;
 
+    @ConditionalGet(tables = TableVersions.TRAINERS)
     @GetMapping
-    public ResponseEntity<List<Trainer>> getAllTrainers() {
-        return ResponseEntity.ok(trainerService.getAllTrainers());
+    public ResponseEntity<?> getAllTrainers(@RequestParam(required = false) Long after,
+                                            @RequestParam(required = false) Integer limit,
+                                            @RequestParam(required = false) String fields) {
+        if (FieldSelection.isRequested(fields)) {
+            List<String> selected = FieldSelection.parse(fields);
+            if (!KeysetPaging.isRequested(after, limit)) {
+                return ResponseEntity.ok(trainerService.getTrainerFields(selected, 0, Limit.unlimited()));
+            }
+            Limit pageLimit = KeysetPaging.limit(limit);
+            return FieldSelection.page(trainerService.getTrainerFields(selected, KeysetPaging.after(after), pageLimit), pageLimit);
+        }
+        if (!KeysetPaging.isRequested(after, limit)) {
+            return ResponseEntity.ok(trainerService.getAllTrainers());
+        }
+        Limit pageLimit = KeysetPaging.limit(limit);
+        return KeysetPaging.page(trainerService.getTrainersAfter(KeysetPaging.after(after), pageLimit), pageLimit, Trainer::getId);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllTrainers() {
+        return ndjsonStreamer.response(trainerService::streamAllTrainers);
+    }
+
+    @ConditionalGet(tables = TableVersions.TRAINERS)
     @GetMapping("/{id}")
     public ResponseEntity<Trainer> getTrainerById(@PathVariable Long id) {
         return trainerService.getTrainerById(id)
@@ -35,11 +67,25 @@ public class TrainerController {
         return ResponseEntity.status(HttpStatus.CREATED).body(savedTrainer);
     }
 
+    @ConditionalGet(tables = {TableVersions.TRAINERS, TableVersions.BATCHES}, perDay = true)
     @GetMapping("/available")
-    public ResponseEntity<List<Trainer>> getAvailableTrainers() {
-        return ResponseEntity.ok(trainerService.getAvailableTrainers());
+    public ResponseEntity<List<Trainer>> getAvailableTrainers(
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from == null && to == null && location == null) {
+            return ResponseEntity.ok(trainerService.getAvailableTrainers());
+        }
+        // A single day when only one end is given
+        LocalDate windowStart = from != null ? from : (to != null ? to : LocalDate.now());
+        LocalDate windowEnd = to != null ? to : windowStart;
+        if (windowEnd.isBefore(windowStart)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(trainerService.getAvailableTrainers(location, windowStart, windowEnd));
     }
 
+    @ConditionalGet(tables = TableVersions.TRAINERS)
     @GetMapping("/location/{location}")
     public ResponseEntity<List<Trainer>> getTrainersByLocation(@PathVariable String location) {
         return ResponseEntity.ok(trainerService.getTrainersByLocation(location));
@@ -0,0 +1,10 @@
+package com.training.management.dto;
+
+import java.time.LocalDate;
+
+public interface AttendanceTrendView {
+    LocalDate getDate();
+    Long getPresent();
+    Long getLate();
+    Long getAbsent();
+}
@@ -0,0 +1,10 @@
+package com.training.management.dto;
+
+import java.time.LocalDate;
+
+public interface BatchScheduleView {
+    Long getId();
+    Long getTrainerId();
+    LocalDate getStartDate();
+    LocalDate getEndDate();
+}
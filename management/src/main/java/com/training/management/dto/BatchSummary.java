@@ -0,0 +1,11 @@
+package com.training.management.dto;
+
+import com.training.management.model.Batch;
+
+// Immutable copy of the batch fields write paths look up, safe to share through the "batches" cache
+public record BatchSummary(Long id, String courseName, String location) {
+
+    public static BatchSummary of(Batch batch) {
+        return new BatchSummary(batch.getId(), batch.getCourseName(), batch.getLocation());
+    }
+}
@@ -0,0 +1,34 @@
+package com.training.management.dto;
+
+import com.training.management.model.Attendance;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAttendanceRequest {
+
+    private Long batchId;
+
+    private LocalDate date;
+
+    private List<@Valid Entry> entries = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        @NotNull
+        private Long traineeId;
+        @NotNull
+        private Attendance.AttendanceStatus status;
+    }
+}
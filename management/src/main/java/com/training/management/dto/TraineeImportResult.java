@@ -0,0 +1,40 @@
+package com.training.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class TraineeImportResult {
+
+    // Row errors beyond this are only counted, so a bad file cannot blow up the response
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long totalRows;
+
+    private long imported;
+
+    private long errorCount;
+
+    private List<RowError> errors = new ArrayList<>();
+
+    public void addError(long line, String email, String message) {
+        errorCount++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(line, email, message));
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String email;
+        private String message;
+    }
+}
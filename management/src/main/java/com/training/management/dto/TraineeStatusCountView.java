@@ -0,0 +1,9 @@
+package com.training.management.dto;
+
+import com.training.management.model.Attendance;
+
+public interface TraineeStatusCountView {
+    Long getTraineeId();
+    Attendance.AttendanceStatus getStatus();
+    Long getTotal();
+}
@@ -0,0 +1,11 @@
+package com.training.management.dto;
+
+import com.training.management.model.Trainee;
+
+// Immutable copy of the trainee fields write paths look up, safe to share through the "trainees" cache
+public record TraineeSummary(Long id, String name) {
+
+    public static TraineeSummary of(Trainee trainee) {
+        return new TraineeSummary(trainee.getId(), trainee.getName());
+    }
+}
@@ -0,0 +1,6 @@
+package com.training.management.dto;
+
+public interface TrainerNameView {
+    Long getId();
+    String getName();
+}
@@ -0,0 +1,11 @@
+package com.training.management.dto;
+
+import com.training.management.model.Trainer;
+
+// Immutable copy of the trainer fields write paths look up, safe to share through the "trainers" cache
+public record TrainerSummary(Long id, String name) {
+
+    public static TrainerSummary of(Trainer trainer) {
+        return new TrainerSummary(trainer.getId(), trainer.getName());
+    }
+}
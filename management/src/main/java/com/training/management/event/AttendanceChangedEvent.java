@@ -0,0 +1,13 @@
+package com.training.management.event;
+
+import com.training.management.model.Attendance;
+
+import java.util.List;
+
+// Published by AttendanceService; the live feed forwards it to subscribers once the transaction commits
+public record AttendanceChangedEvent(Type type, List<Attendance> records) {
+
+    public enum Type {
+        MARKED, DELETED
+    }
+}
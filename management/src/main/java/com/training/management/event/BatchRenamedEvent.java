@@ -0,0 +1,5 @@
+package com.training.management.event;
+
+// Published when a batch's course name or location changes; copies on trainees and attendance follow asynchronously
+public record BatchRenamedEvent(Long batchId) {
+}
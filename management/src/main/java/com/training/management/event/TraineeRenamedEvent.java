@@ -0,0 +1,5 @@
+package com.training.management.event;
+
+// Published when a trainee's name changes; the copy on attendance follows asynchronously
+public record TraineeRenamedEvent(Long traineeId) {
+}
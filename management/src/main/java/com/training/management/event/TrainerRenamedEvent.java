@@ -0,0 +1,5 @@
+package com.training.management.event;
+
+// Published when a trainer's name changes; the copy on batches follows asynchronously
+public record TrainerRenamedEvent(Long trainerId) {
+}
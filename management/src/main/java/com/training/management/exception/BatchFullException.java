@@ -0,0 +1,14 @@
+package com.training.management.exception;
+
+import lombok.Getter;
+
+@Getter
+public class BatchFullException extends RuntimeException {
+
+    private final Long batchId;
+
+    public BatchFullException(Long batchId) {
+        super("Batch " + batchId + " is full");
+        this.batchId = batchId;
+    }
+}
@@ -0,0 +1,49 @@
+package com.training.management.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(BatchFullException.class)
+    public ResponseEntity<Map<String, Object>> handleBatchFull(BatchFullException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "BATCH_FULL");
+        body.put("message", ex.getMessage());
+        body.put("batchId", ex.getBatchId());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    @ExceptionHandler(ScheduleConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleScheduleConflict(ScheduleConflictException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "SCHEDULE_CONFLICT");
+        body.put("message", ex.getMessage());
+        body.put("trainerId", ex.getTrainerId());
+        body.put("conflictingBatchId", ex.getConflictingBatchId());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidImport(InvalidImportException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "INVALID_IMPORT");
+        body.put("message", ex.getMessage());
+        return ResponseEntity.badRequest().body(body);
+    }
+
+    @ExceptionHandler(InvalidFieldsException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidFields(InvalidFieldsException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "INVALID_FIELDS");
+        body.put("message", ex.getMessage());
+        body.put("allowedFields", ex.getAllowedFields());
+        return ResponseEntity.badRequest().body(body);
+    }
+}
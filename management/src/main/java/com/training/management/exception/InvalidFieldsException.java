@@ -0,0 +1,17 @@
+package com.training.management.exception;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+
+@Getter
+public class InvalidFieldsException extends RuntimeException {
+
+    private final List<String> allowedFields;
+
+    public InvalidFieldsException(Collection<String> unknownFields, Collection<String> allowedFields) {
+        super("Unknown fields: " + String.join(", ", unknownFields));
+        this.allowedFields = allowedFields.stream().sorted().toList();
+    }
+}
@@ -0,0 +1,16 @@
+package com.training.management.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ScheduleConflictException extends RuntimeException {
+
+    private final Long trainerId;
+    private final Long conflictingBatchId;
+
+    public ScheduleConflictException(Long trainerId, Long conflictingBatchId) {
+        super("Trainer " + trainerId + " is already teaching batch " + conflictingBatchId + " in that period");
+        this.trainerId = trainerId;
+        this.conflictingBatchId = conflictingBatchId;
+    }
+}
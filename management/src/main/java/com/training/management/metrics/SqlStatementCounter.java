@@ -0,0 +1,31 @@
+package com.training.management.metrics;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the SQL statements run on the current thread between {@link #start()} and {@link #stop()},
+ * as reported by {@link StatementCountingDataSource}. Outside a counting window it is a single
+ * ThreadLocal read per statement.
+ */
+@Component
+public class SqlStatementCounter {
+
+    private static final ThreadLocal<long[]> COUNT = new ThreadLocal<>();
+
+    public void start() {
+        COUNT.set(new long[1]);
+    }
+
+    public long stop() {
+        long[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : 0;
+    }
+
+    void increment() {
+        long[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+}
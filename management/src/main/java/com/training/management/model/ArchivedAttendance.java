@@ -0,0 +1,52 @@
+package com.training.management.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Attendance of closed batches moved out of the hot table by AttendanceArchiveService; ids are kept
+@Entity
+@Table(name = "attendance_archive", indexes = {
+        @Index(name = "idx_archive_batch_date", columnList = "batch_id, date"),
+        @Index(name = "idx_archive_trainee", columnList = "trainee_id"),
+        @Index(name = "idx_archive_date", columnList = "date")
+})
+@Data
+@NoArgsConstructor
+public class ArchivedAttendance {
+
+    @Id
+    private Long id;
+
+    @Column(name = "trainee_id", nullable = false)
+    private Long traineeId;
+
+    @Column(name = "trainee_name")
+    private String traineeName;
+
+    @Column(name = "batch_id", nullable = false)
+    private Long batchId;
+
+    @Column(name = "batch_name")
+    private String batchName;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    private Attendance.AttendanceStatus status;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    public Attendance toAttendance() {
+        return new Attendance(id, traineeId, traineeName, batchId, batchName, date, status);
+    }
+}
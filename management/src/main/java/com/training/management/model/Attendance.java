@@ -1,42 +1,86 @@
 package com.training.management.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
+import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.PartitionKey;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "attendance")
+@Table(name = "attendance", indexes = {
+        @Index(name = "idx_batch_date_status", columnList = "batch_id, date, status")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_attendance_trainee_batch_date", columnNames = {"trainee_id", "batch_id", "date"})
+})
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class Attendance {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attendance_seq")
+    @SequenceGenerator(name = "attendance_seq", sequenceName = "attendance_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "trainee_id", nullable = false)
+    @NotNull
     private Long traineeId;
 
     @Column(name = "trainee_name")
     private String traineeName;
 
     @Column(name = "batch_id", nullable = false)
+    @NotNull
     private Long batchId;
 
     @Column(name = "batch_name")
     private String batchName;
 
+    // The table is range-partitioned by month on date; updates and deletes include it so MariaDB prunes partitions
+    @PartitionKey
     @Column(nullable = false)
+    @NotNull
     private LocalDate date;
 
-    @Column(nullable = false)
+    @Column(nullable = false, length = 20)
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @NotNull
     private AttendanceStatus status;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "trainee_id", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Trainee trainee;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "batch_id", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Batch batch;
+
+    public Attendance(Long id, Long traineeId, String traineeName, Long batchId, String batchName,
+                      LocalDate date, AttendanceStatus status) {
+        this.id = id;
+        this.traineeId = traineeId;
+        this.traineeName = traineeName;
+        this.batchId = batchId;
+        this.batchName = batchName;
+        this.date = date;
+        this.status = status;
+    }
+
     public enum AttendanceStatus {
         PRESENT, ABSENT, LATE
     }
@@ -0,0 +1,38 @@
+package com.training.management.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "attendance_daily_rollup", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_rollup_batch_date_status", columnNames = {"batch_id", "date", "status"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "batch_id", nullable = false)
+    private Long batchId;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    private Attendance.AttendanceStatus status;
+
+    @Column(name = "attendance_count", nullable = false)
+    private Long attendanceCount = 0L;
+}
@@ -1,14 +1,21 @@
 package com.training.management.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
-@Table(name = "batches")
+@Table(name = "batches", indexes = {
+        @Index(name = "idx_trainer_dates", columnList = "trainer_id, start_date, end_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -36,10 +43,27 @@ public class Batch {
     @Column(name = "trainer_name")
     private String trainerName;
 
+    // Read-only views of trainer_id / trainees.batch_id; writes still go through the id columns
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "trainer_id", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Trainer trainer;
+
+    @OneToMany(mappedBy = "batch")
+    @OrderBy("id")
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<Trainee> trainees = new ArrayList<>();
+
     @Column(name = "max_capacity")
     private Integer maxCapacity = 30;
 
-    @Column(name = "enrolled_count")
+    // Maintained only by BatchRepository's conditional updates; saving an edited batch never overwrites it
+    @Column(name = "enrolled_count", updatable = false)
     private Integer enrolledCount = 0;
 
     @Column(name = "status")
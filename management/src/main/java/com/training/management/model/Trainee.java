@@ -1,15 +1,16 @@
 package com.training.management.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
 @Table(name = "trainees")
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class Trainee {
 
     @Id
@@ -33,4 +34,22 @@ public class Trainee {
 
     @Column(name = "location")
     private String location;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "batch_id", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Batch batch;
+
+    public Trainee(Long id, String name, String email, String phone, Long batchId, String batchName, String location) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.phone = phone;
+        this.batchId = batchId;
+        this.batchName = batchName;
+        this.location = location;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.training.management.repository;
+
+import com.training.management.model.ArchivedAttendance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ArchivedAttendanceRepository extends JpaRepository<ArchivedAttendance, Long> {
+    List<ArchivedAttendance> findByTraineeId(Long traineeId);
+    List<ArchivedAttendance> findByBatchId(Long batchId);
+    List<ArchivedAttendance> findByDate(LocalDate date);
+    boolean existsByDateBetween(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,82 @@
+package com.training.management.repository;
+
+import com.training.management.dto.AttendanceTrendView;
+import com.training.management.model.AttendanceDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AttendanceDailyRollupRepository extends JpaRepository<AttendanceDailyRollup, Long> {
+
+    // Creates the day's rollup rows if missing and takes their row locks until commit. Every attendance writer
+    // locks its batch days here, in (batch, date) order, before touching attendance rows of those days.
+    @Modifying
+    @Query(value = """
+            insert into attendance_daily_rollup (batch_id, date, status, attendance_count)
+            select :batchId, :date, s.status, 0
+            from (select 'PRESENT' as status union all select 'LATE' union all select 'ABSENT') s
+            on duplicate key update attendance_count = attendance_count""",
+            nativeQuery = true)
+    int lockDay(@Param("batchId") Long batchId, @Param("date") LocalDate date);
+
+    // Absolute counts for one batch day, archived rows included; statuses no longer present are written as 0
+    @Modifying
+    @Query(value = """
+            insert into attendance_daily_rollup (batch_id, date, status, attendance_count)
+            select :batchId, :date, s.status,
+                   (select count(*) from attendance a
+                    where a.batch_id = :batchId and a.date = :date and a.status = s.status)
+                   + (select count(*) from attendance_archive a
+                      where a.batch_id = :batchId and a.date = :date and a.status = s.status)
+            from (select 'PRESENT' as status union all select 'LATE' union all select 'ABSENT') s
+            on duplicate key update attendance_count = values(attendance_count)""",
+            nativeQuery = true)
+    int recount(@Param("batchId") Long batchId, @Param("date") LocalDate date);
+
+    @Modifying
+    @Query(value = "delete from attendance_daily_rollup where batch_id = :batchId", nativeQuery = true)
+    int deleteByBatchId(@Param("batchId") Long batchId);
+
+    @Modifying
+    @Query(value = """
+            insert into attendance_daily_rollup (batch_id, date, status, attendance_count)
+            select batch_id, date, status, count(*)
+            from (select batch_id, date, status from attendance where batch_id = :batchId
+                  union all
+                  select batch_id, date, status from attendance_archive where batch_id = :batchId) a
+            group by batch_id, date, status""",
+            nativeQuery = true)
+    int rebuildForBatch(@Param("batchId") Long batchId);
+
+    @Query("select distinct r.batchId from AttendanceDailyRollup r")
+    List<Long> findDistinctBatchIds();
+
+    @Query("""
+            select r.date as date,
+                   sum(case when r.status = com.training.management.model.Attendance.AttendanceStatus.PRESENT then r.attendanceCount else 0 end) as present,
+                   sum(case when r.status = com.training.management.model.Attendance.AttendanceStatus.LATE then r.attendanceCount else 0 end) as late,
+                   sum(case when r.status = com.training.management.model.Attendance.AttendanceStatus.ABSENT then r.attendanceCount else 0 end) as absent
+            from AttendanceDailyRollup r
+            group by r.date
+            having sum(r.attendanceCount) > 0
+            order by r.date""")
+    List<AttendanceTrendView> findAttendanceTrends();
+
+    @Query("""
+            select r.date as date,
+                   sum(case when r.status = com.training.management.model.Attendance.AttendanceStatus.PRESENT then r.attendanceCount else 0 end) as present,
+                   sum(case when r.status = com.training.management.model.Attendance.AttendanceStatus.LATE then r.attendanceCount else 0 end) as late,
+                   sum(case when r.status = com.training.management.model.Attendance.AttendanceStatus.ABSENT then r.attendanceCount else 0 end) as absent
+            from AttendanceDailyRollup r
+            where r.batchId = :batchId
+            group by r.date
+            having sum(r.attendanceCount) > 0
+            order by r.date""")
+    List<AttendanceTrendView> findAttendanceTrendsByBatchId(@Param("batchId") Long batchId);
+}
@@ -1,15 +1,31 @@
 package com.training.management.repository;
 
+import com.training.management.dto.TraineeStatusCountView;
 import com.training.management.model.Attendance;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
+public interface AttendanceRepository extends KeysetPagingRepository<Attendance> {
     List<Attendance> findByTraineeId(Long traineeId);
     List<Attendance> findByBatchId(Long batchId);
     List<Attendance> findByDate(LocalDate date);
+    Optional<Attendance> findByTraineeIdAndBatchIdAndDate(Long traineeId, Long batchId, LocalDate date);
+    List<Attendance> findByBatchIdAndDateAndTraineeIdIn(Long batchId, LocalDate date, Collection<Long> traineeIds);
+
+    @Query("select distinct a.batchId from Attendance a")
+    List<Long> findDistinctBatchIds();
+
+    @Query("""
+            select a.traineeId as traineeId, a.status as status, count(a) as total
+            from Attendance a
+            where a.batchId = :batchId
+            group by a.traineeId, a.status""")
+    List<TraineeStatusCountView> countByTraineeAndStatus(@Param("batchId") Long batchId);
 }
\ No newline at end of file
@@ -1,13 +1,51 @@
 package com.training.management.repository;
 
+import com.training.management.dto.BatchScheduleView;
 import com.training.management.model.Batch;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BatchRepository extends JpaRepository<Batch, Long> {
+public interface BatchRepository extends KeysetPagingRepository<Batch> {
     List<Batch> findByLocation(String location);
     List<Batch> findByTrainerId(Long trainerId);
-}
\ No newline at end of file
+
+    // Batch, trainer and enrolled trainees in one joined select
+    @EntityGraph(attributePaths = {"trainer", "trainees"})
+    @Query("select b from Batch b where b.id = :id")
+    Optional<Batch> findDetailsById(@Param("id") Long id);
+
+    // Single conditional UPDATE so concurrent enrollments can neither lose increments nor overbook
+    @Modifying
+    @Query("""
+            update Batch b set b.enrolledCount = coalesce(b.enrolledCount, 0) + 1
+            where b.id = :id
+              and (b.maxCapacity is null or coalesce(b.enrolledCount, 0) < b.maxCapacity)""")
+    int incrementEnrolledCount(@Param("id") Long id);
+
+    // Frees the seat of a trainee who left; never below zero
+    @Modifying
+    @Query("update Batch b set b.enrolledCount = b.enrolledCount - 1 where b.id = :id and b.enrolledCount > 0")
+    int decrementEnrolledCount(@Param("id") Long id);
+
+    @Query("""
+            select b.id as id, b.trainerId as trainerId, b.startDate as startDate, b.endDate as endDate
+            from Batch b
+            where b.trainerId is not null
+              and b.startDate <= :to and b.endDate >= :from
+            order by b.trainerId, b.startDate""")
+    List<BatchScheduleView> findTrainerSchedules(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("""
+            select b.id as id, b.trainerId as trainerId, b.startDate as startDate, b.endDate as endDate
+            from Batch b
+            where b.trainerId is not null""")
+    List<BatchScheduleView> findAllTrainerSchedules();
+}
@@ -1,12 +1,11 @@
 package com.training.management.repository;
 
 import com.training.management.model.Course;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Long> {
+public interface CourseRepository extends KeysetPagingRepository<Course> {
     List<Course> findByCategory(String category);
 }
\ No newline at end of file
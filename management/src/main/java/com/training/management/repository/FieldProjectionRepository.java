@@ -0,0 +1,70 @@
+package com.training.management.repository;
+
+import com.training.management.exception.InvalidFieldsException;
+import com.training.management.service.TableVersions;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Column subsets of any entity for ?fields= list requests. The fields are selected as scalars, so
+ * the rows never become managed entities: no hydration of the other columns, no dirty-checking
+ * snapshots. Selectable fields are the entity's basic attributes, as serialized in full responses.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FieldProjectionRepository {
+
+    private final EntityManager entityManager;
+    private final Map<Class<?>, Set<String>> selectableFields = new ConcurrentHashMap<>();
+
+    // Rows with id > after in id order, as maps in the order of `fields`
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findFields(Class<?> entityType, List<String> fields, long after, Limit limit) {
+        EntityType<?> entity = entityManager.getMetamodel().entity(entityType);
+        Set<String> allowed = selectableFields.computeIfAbsent(entityType, type -> entity.getSingularAttributes().stream()
+                .filter(attribute -> attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC)
+                .map(Attribute::getName)
+                .collect(Collectors.toUnmodifiableSet()));
+        List<String> unknown = fields.stream().filter(field -> !allowed.contains(field)).toList();
+        if (!unknown.isEmpty()) {
+            throw new InvalidFieldsException(unknown, allowed);
+        }
+
+        // Field names are checked against the metamodel above, so they are safe to inline
+        String select = fields.stream().map(field -> "e." + field).collect(Collectors.joining(", "));
+        TypedQuery<Tuple> query = entityManager.createQuery(
+                        "select " + select + " from " + entity.getName() + " e where e.id > :after order by e.id", Tuple.class)
+                .setParameter("after", after);
+        if (limit.isLimited()) {
+            query.setMaxResults(limit.max());
+        }
+
+        List<Tuple> tuples;
+        try (TableVersions.ReadScope scope = TableVersions.readScope(entityType)) {
+            tuples = query.getResultList();
+        }
+        return tuples.stream()
+                .map(tuple -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (int i = 0; i < fields.size(); i++) {
+                        row.put(fields.get(i), tuple.get(i));
+                    }
+                    return row;
+                })
+                .toList();
+    }
+}
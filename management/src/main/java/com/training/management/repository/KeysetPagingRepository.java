@@ -0,0 +1,23 @@
+package com.training.management.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@NoRepositoryBean
+public interface KeysetPagingRepository<T> extends JpaRepository<T, Long> {
+
+    List<T> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    // Forward-only cursor; the caller must hold a transaction and detach rows as it goes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select e from #{#entityName} e order by e.id")
+    Stream<T> streamAll();
+}
@@ -1,12 +1,17 @@
 package com.training.management.repository;
 
 import com.training.management.model.Trainee;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface TraineeRepository extends JpaRepository<Trainee, Long> {
+public interface TraineeRepository extends KeysetPagingRepository<Trainee> {
     List<Trainee> findByBatchId(Long batchId);
+
+    @Query("select t.email from Trainee t where t.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
\ No newline at end of file
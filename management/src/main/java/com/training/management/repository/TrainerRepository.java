@@ -1,14 +1,18 @@
 package com.training.management.repository;
 
+import com.training.management.dto.TrainerNameView;
 import com.training.management.model.Trainer;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface TrainerRepository extends JpaRepository<Trainer, Long> {
+public interface TrainerRepository extends KeysetPagingRepository<Trainer> {
     List<Trainer> findByLocation(String location);
     List<Trainer> findByAssignedFalse();
     List<Trainer> findByBatchId(Long batchId);
+
+    @Query("select t.id as id, t.name as name from Trainer t order by t.id")
+    List<TrainerNameView> findAllNames();
 }
\ No newline at end of file
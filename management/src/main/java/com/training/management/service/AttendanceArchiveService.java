@@ -0,0 +1,212 @@
+package com.training.management.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of {@code attendance} ahead of the calendar and moves attendance of
+ * closed batches older than the archive horizon into the compressed {@code attendance_archive} table,
+ * in throttled chunks. Emptied partitions past the horizon are dropped. Partition maintenance only
+ * runs against a partitioned MariaDB table (see database/init.sql); archival works on any database.
+ */
+@Slf4j
+@Service
+public class AttendanceArchiveService {
+
+    private static final Pattern MONTH_PARTITION = Pattern.compile("p(\\d{6})");
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    // A batch is closed once it ended before the cutoff; attendance of deleted batches counts as closed too
+    private static final String SELECT_CHUNK = """
+            select a.id from attendance a
+            where a.date < :cutoff
+              and not exists (select 1 from batches b
+                              where b.id = a.batch_id and (b.end_date is null or b.end_date >= :cutoff))
+            order by a.date, a.id
+            limit :limit""";
+
+    private static final String COPY_CHUNK = """
+            insert into attendance_archive (id, trainee_id, trainee_name, batch_id, batch_name, date, status, archived_at)
+            select id, trainee_id, trainee_name, batch_id, batch_name, date, status, current_timestamp
+            from attendance
+            where id in (:ids) and date < :cutoff""";
+
+    private static final String DELETE_CHUNK = """
+            delete from attendance where id in (:ids) and date < :cutoff""";
+
+    private static final String SELECT_PARTITIONS = """
+            select partition_name from information_schema.partitions
+            where table_schema = database() and table_name = 'attendance' and partition_name is not null""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TableVersions tableVersions;
+    private final boolean enabled;
+    private final Duration horizon;
+    private final int chunkSize;
+    private final Duration pause;
+    private final int monthsAhead;
+
+    public AttendanceArchiveService(NamedParameterJdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    TableVersions tableVersions,
+                                    @Value("${app.attendance.archive.enabled:true}") boolean enabled,
+                                    @Value("${app.attendance.archive.horizon:730d}") Duration horizon,
+                                    @Value("${app.attendance.archive.chunk-size:5000}") int chunkSize,
+                                    @Value("${app.attendance.archive.pause:200ms}") Duration pause,
+                                    @Value("${app.attendance.partitions.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.tableVersions = tableVersions;
+        this.enabled = enabled;
+        this.horizon = horizon;
+        this.chunkSize = chunkSize;
+        this.pause = pause;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @Scheduled(cron = "${app.attendance.archive.cron:0 0 3 * * *}")
+    public void runNightly() {
+        addPartitions();
+        if (enabled) {
+            LocalDate cutoff = cutoff();
+            archive(cutoff);
+            dropEmptyPartitions(cutoff);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void addPartitions() {
+        Optional<List<String>> partitions = monthlyPartitions();
+        if (partitions.isEmpty()) {
+            return;
+        }
+        YearMonth last = partitions.get().stream()
+                .map(AttendanceArchiveService::partitionMonth)
+                .max(YearMonth::compareTo)
+                .orElse(YearMonth.now().minusMonths(1));
+        YearMonth through = YearMonth.now().plusMonths(monthsAhead);
+        if (!last.isBefore(through)) {
+            return;
+        }
+
+        // pmax holds no rows while partitions stay ahead of the calendar, so splitting it is metadata only
+        StringBuilder ddl = new StringBuilder("alter table attendance reorganize partition pmax into (");
+        for (YearMonth month = last.plusMonths(1); !month.isAfter(through); month = month.plusMonths(1)) {
+            ddl.append("partition p").append(month.format(PARTITION_MONTH))
+                    .append(" values less than ('").append(month.plusMonths(1).atDay(1)).append("'), ");
+        }
+        ddl.append("partition pmax values less than (maxvalue))");
+        jdbcTemplate.getJdbcTemplate().execute(ddl.toString());
+        log.info("Added attendance partitions through {}", through);
+    }
+
+    // Returns the number of rows moved; each chunk is copied and deleted in its own short transaction
+    public int archive(LocalDate cutoff) {
+        int archived = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> moveChunk(cutoff));
+            archived += moved;
+            if (moved < chunkSize) {
+                break;
+            }
+            try {
+                Thread.sleep(pause.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (archived > 0) {
+            tableVersions.bump(TableVersions.ATTENDANCE);
+            log.info("Archived {} attendance records dated before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    private int moveChunk(LocalDate cutoff) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("cutoff", cutoff)
+                .addValue("limit", chunkSize);
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_CHUNK, params, Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        params.addValue("ids", ids);
+        jdbcTemplate.update(COPY_CHUNK, params);
+        jdbcTemplate.update(DELETE_CHUNK, params);
+        return ids.size();
+    }
+
+    // Dropping a partition frees its space at once instead of leaving holes in the tablespace
+    private void dropEmptyPartitions(LocalDate cutoff) {
+        Optional<List<String>> partitions = monthlyPartitions();
+        if (partitions.isEmpty()) {
+            return;
+        }
+        YearMonth lastClosed = YearMonth.from(cutoff).minusMonths(1);
+        List<String> empty = new ArrayList<>();
+        for (String partition : partitions.get()) {
+            YearMonth month = partitionMonth(partition);
+            if (month.isAfter(lastClosed)) {
+                continue;
+            }
+            Integer rows = jdbcTemplate.queryForObject(
+                    "select count(*) from (select 1 from attendance partition (" + partition + ") limit 1) p",
+                    Map.of(), Integer.class);
+            if (rows != null && rows == 0) {
+                empty.add(partition);
+            }
+        }
+        if (!empty.isEmpty()) {
+            jdbcTemplate.getJdbcTemplate().execute("alter table attendance drop partition " + String.join(", ", empty));
+            log.info("Dropped empty attendance partitions {}", empty);
+        }
+    }
+
+    // Monthly partition names, or empty when the table is not partitioned (e.g. H2, or created by Hibernate)
+    private Optional<List<String>> monthlyPartitions() {
+        String product = jdbcTemplate.getJdbcTemplate().execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (product == null || !product.toLowerCase(Locale.ROOT).matches(".*(mariadb|mysql).*")) {
+            return Optional.empty();
+        }
+        List<String> partitions = jdbcTemplate.queryForList(SELECT_PARTITIONS, Map.of(), String.class);
+        if (!partitions.contains("pmax")) {
+            return Optional.empty();
+        }
+        return Optional.of(partitions.stream().filter(name -> MONTH_PARTITION.matcher(name).matches()).toList());
+    }
+
+    private static YearMonth partitionMonth(String partition) {
+        Matcher matcher = MONTH_PARTITION.matcher(partition);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a monthly partition: " + partition);
+        }
+        return YearMonth.parse(matcher.group(1), PARTITION_MONTH);
+    }
+
+    LocalDate cutoff() {
+        return LocalDate.now().minusDays(horizon.toDays());
+    }
+}
@@ -0,0 +1,244 @@
+package com.training.management.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.training.management.event.AttendanceChangedEvent;
+import com.training.management.model.Attendance;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes committed attendance changes to SSE subscribers of a batch and date.
+ *
+ * Publishing never blocks on a client: each subscriber has a small bounded queue that is drained on the
+ * feed's own sender pool, and a subscriber whose queue overflows is disconnected. Sends are blocking
+ * socket writes, so the pool is kept apart from the application task executor: stalled clients can hold
+ * feed senders, never @Async listeners. A subscriber stuck in one send longer than send-timeout is dropped
+ * from its feed. An idle connection holds no thread, only its emitter and an empty queue.
+ */
+@Slf4j
+@Service
+public class AttendanceFeedService implements DisposableBean {
+
+    private final Map<FeedKey, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong eventIds = new AtomicLong();
+
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor senders;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration timeout;
+    private final Duration sendTimeout;
+
+    public AttendanceFeedService(ObjectMapper objectMapper,
+                                 @Value("${app.attendance-feed.buffer-size:64}") int bufferSize,
+                                 @Value("${app.attendance-feed.max-subscribers:10000}") int maxSubscribers,
+                                 @Value("${app.attendance-feed.timeout:30m}") Duration timeout,
+                                 @Value("${app.attendance-feed.send-threads:8}") int sendThreads,
+                                 @Value("${app.attendance-feed.send-timeout:10s}") Duration sendTimeout) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        this.sendTimeout = sendTimeout;
+
+        // At most one pending drain per subscriber, so the queue never needs more than max-subscribers
+        senders = new ThreadPoolTaskExecutor();
+        senders.setThreadNamePrefix("attendance-feed-");
+        senders.setCorePoolSize(sendThreads);
+        senders.setMaxPoolSize(sendThreads);
+        senders.setQueueCapacity(maxSubscribers);
+        senders.initialize();
+    }
+
+    @Override
+    public void destroy() {
+        senders.shutdown();
+    }
+
+    public Optional<SseEmitter> subscribe(Long batchId, LocalDate date) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return Optional.empty();
+        }
+        FeedKey key = new FeedKey(batchId, date);
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(key, emitter);
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscribers.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        return Optional.of(emitter);
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        Map<FeedKey, List<Attendance>> byFeed = event.records().stream()
+                .filter(a -> a.getBatchId() != null && a.getDate() != null)
+                .collect(Collectors.groupingBy(a -> new FeedKey(a.getBatchId(), a.getDate())));
+
+        byFeed.forEach((key, records) -> {
+            Set<Subscriber> feed = subscribers.get(key);
+            if (feed == null || feed.isEmpty()) {
+                return;
+            }
+            // Serialized once per feed, not once per subscriber
+            FeedMessage message = toMessage(event.type(), records);
+            if (message != null) {
+                feed.forEach(subscriber -> subscriber.offer(message));
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.attendance-feed.heartbeat:15s}")
+    public void heartbeat() {
+        // Keeps proxies from closing idle streams and surfaces clients that went away
+        FeedMessage ping = new FeedMessage(null, null, null);
+        long now = System.nanoTime();
+        subscribers.values().forEach(feed -> feed.forEach(subscriber -> {
+            if (subscriber.stalledSince(now, sendTimeout)) {
+                // The emitter is left alone: its lock is held by the blocked send, which fails once the
+                // container's write timeout closes the socket
+                log.debug("Dropping stalled attendance feed subscriber for {}", subscriber.key);
+                remove(subscriber);
+            } else {
+                subscriber.offer(ping);
+            }
+        }));
+    }
+
+    private FeedMessage toMessage(AttendanceChangedEvent.Type type, List<Attendance> records) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("type", type);
+        payload.put("records", records);
+        try {
+            return new FeedMessage(eventIds.incrementAndGet(), "attendance", objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize attendance feed event", e);
+            return null;
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.key, (k, feed) -> {
+            feed.remove(subscriber);
+            return feed.isEmpty() ? null : feed;
+        });
+    }
+
+    private record FeedKey(Long batchId, LocalDate date) {
+    }
+
+    // id/name/data are null for a heartbeat comment
+    private record FeedMessage(Long id, String name, String data) {
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (data == null) {
+                return SseEmitter.event().comment("ping");
+            }
+            return SseEmitter.event().id(id.toString()).name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final FeedKey key;
+        private final SseEmitter emitter;
+        private final BlockingQueue<FeedMessage> queue = new LinkedBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // System.nanoTime() when the current send started, 0 between sends
+        private volatile long sendingSince;
+
+        Subscriber(FeedKey key, SseEmitter emitter) {
+            this.key = key;
+            this.emitter = emitter;
+        }
+
+        void offer(FeedMessage message) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(message)) {
+                // Slow consumer: drop it rather than buffer without bound; the client reconnects and refetches
+                log.debug("Dropping slow attendance feed subscriber for {}", key);
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        boolean stalledSince(long now, Duration limit) {
+            long since = sendingSince;
+            return since != 0 && now - since > limit.toNanos();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (TaskRejectedException e) {
+                    // Shutting down
+                    draining.set(false);
+                    remove(this);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                FeedMessage message;
+                while (!closed.get() && (message = queue.poll()) != null) {
+                    sendingSince = System.nanoTime();
+                    emitter.send(message.toEvent());
+                    sendingSince = 0;
+                }
+            } catch (IOException | IllegalStateException e) {
+                remove(this);
+                return;
+            } finally {
+                sendingSince = 0;
+                draining.set(false);
+            }
+            // A message offered after the last poll but before the flag reset still needs a drain
+            if (!queue.isEmpty() && !closed.get()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.training.management.service;
+
+import com.training.management.repository.AttendanceDailyRollupRepository;
+import com.training.management.repository.AttendanceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendanceRollupService {
+
+    private static final Comparator<BatchDay> LOCK_ORDER =
+            Comparator.comparing(BatchDay::batchId).thenComparing(BatchDay::date);
+
+    private final AttendanceDailyRollupRepository rollupRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TableVersions tableVersions;
+
+    public record BatchDay(Long batchId, LocalDate date) {
+    }
+
+    /**
+     * Locks the rollup rows of the given batch days for the current transaction, in (batch, date) order.
+     * Call before writing attendance rows of those days, then {@link #recount} after: concurrent writers
+     * of a day queue on its rollup rows instead of holding attendance rows the other's recount needs, so
+     * the recount can run in the writing transaction without deadlocking.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<BatchDay> lock(Collection<BatchDay> days) {
+        List<BatchDay> keys = days.stream()
+                .filter(day -> day.batchId() != null && day.date() != null)
+                .distinct()
+                .sorted(LOCK_ORDER)
+                .toList();
+        keys.forEach(key -> rollupRepository.lockDay(key.batchId(), key.date()));
+        return keys;
+    }
+
+    // Absolute counts, so the rollup commits or rolls back together with the write that changed them
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recount(List<BatchDay> lockedDays) {
+        lockedDays.forEach(key -> rollupRepository.recount(key.batchId(), key.date()));
+    }
+
+    @Scheduled(cron = "${app.reports.rollup-rebuild-cron:0 30 2 * * *}")
+    public void rebuild() {
+        // One transaction per batch keeps locks short and lets reports keep reading the old counts
+        Set<Long> batchIds = new TreeSet<>(attendanceRepository.findDistinctBatchIds());
+        batchIds.addAll(rollupRepository.findDistinctBatchIds());
+
+        for (Long batchId : batchIds) {
+            transactionTemplate.executeWithoutResult(status -> {
+                rollupRepository.deleteByBatchId(batchId);
+                rollupRepository.rebuildForBatch(batchId);
+            });
+        }
+        tableVersions.bump(TableVersions.ATTENDANCE);
+        log.info("Rebuilt attendance rollup for {} batches", batchIds.size());
+    }
+}
@@ -1,58 +1,269 @@
 package com.training.management.service;
 
+import com.training.management.dto.BatchSummary;
+import com.training.management.dto.BulkAttendanceRequest;
+import com.training.management.dto.TraineeSummary;
+import com.training.management.event.AttendanceChangedEvent;
+import com.training.management.model.ArchivedAttendance;
 import com.training.management.model.Attendance;
-import com.training.management.model.Batch;
 import com.training.management.model.Trainee;
+import com.training.management.repository.ArchivedAttendanceRepository;
 import com.training.management.repository.AttendanceRepository;
-import com.training.management.repository.BatchRepository;
+import com.training.management.repository.FieldProjectionRepository;
 import com.training.management.repository.TraineeRepository;
+import com.training.management.service.AttendanceRollupService.BatchDay;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.Generator;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Date;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class AttendanceService {
 
+    // One row per trainee, batch and day: a retried or repeated check-in overwrites the status (and skips its id)
+    private static final String UPSERT_ATTENDANCE = """
+            insert into attendance (id, trainee_id, trainee_name, batch_id, batch_name, date, status)
+            values (?, ?, ?, ?, ?, ?, ?)
+            on duplicate key update status = values(status),
+                                    trainee_name = values(trainee_name),
+                                    batch_name = values(batch_name)""";
+
     private final AttendanceRepository attendanceRepository;
+    private final FieldProjectionRepository fieldProjectionRepository;
+    private final ArchivedAttendanceRepository archivedAttendanceRepository;
     private final TraineeRepository traineeRepository;
-    private final BatchRepository batchRepository;
+    private final TraineeService traineeService;
+    private final BatchService batchService;
+    private final AttendanceRollupService rollupService;
+    private final TableVersions tableVersions;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    // The hot table holds everything but archived closed batches; history adds the archive behind it
+    @Transactional(readOnly = true)
+    public List<Attendance> getAllAttendance(boolean history) {
+        List<Attendance> attendance = attendanceRepository.findAll();
+        return history ? withArchived(attendance, archivedAttendanceRepository.findAll()) : attendance;
+    }
+
+    public List<Attendance> getAttendanceAfter(Long after, Limit limit) {
+        return attendanceRepository.findByIdGreaterThanOrderByIdAsc(after, limit);
+    }
+
+    public List<Map<String, Object>> getAttendanceFields(List<String> fields, long after, Limit limit) {
+        return fieldProjectionRepository.findFields(Attendance.class, fields, after, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllAttendanceFields(List<String> fields, boolean history) {
+        List<Map<String, Object>> attendance = getAttendanceFields(fields, 0, Limit.unlimited());
+        if (!history) {
+            return attendance;
+        }
+        // Every attendance field exists on the archive too, and was validated by the query above
+        List<Map<String, Object>> combined = new ArrayList<>(
+                fieldProjectionRepository.findFields(ArchivedAttendance.class, fields, 0, Limit.unlimited()));
+        combined.addAll(attendance);
+        return combined;
+    }
 
-    public List<Attendance> getAllAttendance() {
-        return attendanceRepository.findAll();
+    public Stream<Attendance> streamAllAttendance() {
+        return attendanceRepository.streamAll();
     }
 
+    @Transactional
     public Attendance markAttendance(Attendance attendance) {
-        // Get trainee and batch details
-        if (attendance.getTraineeId() != null) {
-            Optional<Trainee> trainee = traineeRepository.findById(attendance.getTraineeId());
-            trainee.ifPresent(t -> attendance.setTraineeName(t.getName()));
+        if (attendance.getId() != null) {
+            return updateAttendance(attendance.getId(), attendance)
+                    .orElseThrow(() -> new NoSuchElementException("No attendance record " + attendance.getId()));
         }
 
+        if (attendance.getTraineeId() != null) {
+            traineeService.getCachedTrainee(attendance.getTraineeId())
+                    .map(TraineeSummary::name)
+                    .ifPresent(attendance::setTraineeName);
+        }
         if (attendance.getBatchId() != null) {
-            Optional<Batch> batch = batchRepository.findById(attendance.getBatchId());
-            batch.ifPresent(b -> attendance.setBatchName(b.getCourseName()));
+            batchService.getCachedBatch(attendance.getBatchId())
+                    .map(BatchSummary::courseName)
+                    .ifPresent(attendance::setBatchName);
         }
 
-        return attendanceRepository.save(attendance);
+        List<BatchDay> days = rollupService.lock(List.of(new BatchDay(attendance.getBatchId(), attendance.getDate())));
+        jdbcTemplate.update(UPSERT_ATTENDANCE, nextId(attendance), attendance.getTraineeId(), attendance.getTraineeName(),
+                attendance.getBatchId(), attendance.getBatchName(), toSqlDate(attendance.getDate()), statusName(attendance));
+        Attendance saved = attendanceRepository.findByTraineeIdAndBatchIdAndDate(
+                        attendance.getTraineeId(), attendance.getBatchId(), attendance.getDate())
+                .orElseThrow();
+
+        rollupService.recount(days);
+        tableVersions.bump(TableVersions.ATTENDANCE);
+        eventPublisher.publishEvent(new AttendanceChangedEvent(AttendanceChangedEvent.Type.MARKED, List.of(saved)));
+        return saved;
     }
 
-    public List<Attendance> getAttendanceByTrainee(Long traineeId) {
-        return attendanceRepository.findByTraineeId(traineeId);
+    // Edits one record by id; moving it onto another record's trainee, batch and day violates the unique key
+    @Transactional
+    public Optional<Attendance> updateAttendance(Long id, Attendance attendance) {
+        return attendanceRepository.findById(id).map(existing -> {
+            // Copied before the managed instance changes; subscribers of the old feed see a removal
+            Attendance previous = new Attendance(existing.getId(), existing.getTraineeId(), existing.getTraineeName(),
+                    existing.getBatchId(), existing.getBatchName(), existing.getDate(), existing.getStatus());
+
+            // Names are kept current by NamePropagationService, so an unchanged id keeps the stored copy
+            if (!Objects.equals(existing.getTraineeId(), attendance.getTraineeId())) {
+                existing.setTraineeId(attendance.getTraineeId());
+                existing.setTraineeName(attendance.getTraineeId() == null ? null
+                        : traineeService.getCachedTrainee(attendance.getTraineeId()).map(TraineeSummary::name).orElse(null));
+            }
+            if (!Objects.equals(existing.getBatchId(), attendance.getBatchId())) {
+                existing.setBatchId(attendance.getBatchId());
+                existing.setBatchName(attendance.getBatchId() == null ? null
+                        : batchService.getCachedBatch(attendance.getBatchId()).map(BatchSummary::courseName).orElse(null));
+            }
+            existing.setDate(attendance.getDate());
+            existing.setStatus(attendance.getStatus());
+            BatchDay before = new BatchDay(previous.getBatchId(), previous.getDate());
+            BatchDay after = new BatchDay(existing.getBatchId(), existing.getDate());
+            List<BatchDay> days = rollupService.lock(List.of(before, after));
+            Attendance saved = attendanceRepository.saveAndFlush(existing);
+
+            rollupService.recount(days);
+            tableVersions.bump(TableVersions.ATTENDANCE);
+            if (!before.equals(after)) {
+                eventPublisher.publishEvent(new AttendanceChangedEvent(AttendanceChangedEvent.Type.DELETED, List.of(previous)));
+            }
+            eventPublisher.publishEvent(new AttendanceChangedEvent(AttendanceChangedEvent.Type.MARKED, List.of(saved)));
+            return saved;
+        });
     }
 
-    public List<Attendance> getAttendanceByBatch(Long batchId) {
-        return attendanceRepository.findByBatchId(batchId);
+    @Transactional
+    public List<Attendance> markBulkAttendance(BulkAttendanceRequest request) {
+        List<Attendance> records = request.getEntries().stream()
+                .map(entry -> new Attendance(null, entry.getTraineeId(), null,
+                        request.getBatchId(), null, request.getDate(), entry.getStatus()))
+                .toList();
+        return markAll(records);
     }
 
-    public List<Attendance> getAttendanceByDate(LocalDate date) {
-        return attendanceRepository.findByDate(date);
+    // Roster check-ins and the write-behind queue; names are resolved once per distinct id
+    @Transactional
+    public List<Attendance> markAll(List<Attendance> records) {
+        List<Long> traineeIds = records.stream()
+                .map(Attendance::getTraineeId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<Long, String> traineeNames = traineeRepository.findAllById(traineeIds).stream()
+                .collect(Collectors.toMap(Trainee::getId, Trainee::getName));
+
+        Map<Long, Optional<String>> batchNames = new HashMap<>();
+        for (Attendance record : records) {
+            record.setTraineeName(traineeNames.get(record.getTraineeId()));
+            if (record.getBatchId() != null) {
+                record.setBatchName(batchNames.computeIfAbsent(record.getBatchId(),
+                        id -> batchService.getCachedBatch(id).map(BatchSummary::courseName)).orElse(null));
+            }
+        }
+
+        Map<BatchDay, List<Long>> traineesByDay = records.stream()
+                .collect(Collectors.groupingBy(r -> new BatchDay(r.getBatchId(), r.getDate()), LinkedHashMap::new,
+                        Collectors.mapping(Attendance::getTraineeId, Collectors.toList())));
+        List<BatchDay> days = rollupService.lock(traineesByDay.keySet());
+        jdbcTemplate.batchUpdate(UPSERT_ATTENDANCE, records, records.size(), (ps, record) -> {
+            ps.setLong(1, nextId(record));
+            ps.setObject(2, record.getTraineeId());
+            ps.setString(3, record.getTraineeName());
+            ps.setObject(4, record.getBatchId());
+            ps.setString(5, record.getBatchName());
+            ps.setDate(6, toSqlDate(record.getDate()));
+            ps.setString(7, statusName(record));
+        });
+
+        // Read back the stored rows (with ids) per batch day, one query each
+        List<Attendance> saved = new ArrayList<>(records.size());
+        traineesByDay.forEach((day, trainees) -> saved.addAll(
+                attendanceRepository.findByBatchIdAndDateAndTraineeIdIn(day.batchId(), day.date(), trainees)));
+
+        rollupService.recount(days);
+        tableVersions.bump(TableVersions.ATTENDANCE);
+        eventPublisher.publishEvent(new AttendanceChangedEvent(AttendanceChangedEvent.Type.MARKED, saved));
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Attendance> getAttendanceByTrainee(Long traineeId, boolean history) {
+        List<Attendance> attendance = attendanceRepository.findByTraineeId(traineeId);
+        return history ? withArchived(attendance, archivedAttendanceRepository.findByTraineeId(traineeId)) : attendance;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Attendance> getAttendanceByBatch(Long batchId, boolean history) {
+        List<Attendance> attendance = attendanceRepository.findByBatchId(batchId);
+        return history ? withArchived(attendance, archivedAttendanceRepository.findByBatchId(batchId)) : attendance;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Attendance> getAttendanceByDate(LocalDate date, boolean history) {
+        List<Attendance> attendance = attendanceRepository.findByDate(date);
+        return history ? withArchived(attendance, archivedAttendanceRepository.findByDate(date)) : attendance;
     }
 
+    @Transactional
     public void deleteAttendance(Long id) {
-        attendanceRepository.deleteById(id);
+        attendanceRepository.findById(id).ifPresent(attendance -> {
+            List<BatchDay> days = rollupService.lock(List.of(new BatchDay(attendance.getBatchId(), attendance.getDate())));
+            attendanceRepository.delete(attendance);
+            attendanceRepository.flush();
+            rollupService.recount(days);
+            tableVersions.bump(TableVersions.ATTENDANCE);
+            eventPublisher.publishEvent(new AttendanceChangedEvent(AttendanceChangedEvent.Type.DELETED, List.of(attendance)));
+        });
+    }
+
+    // Archived rows are older than anything left in the hot table for the same batch, so they go first
+    private static List<Attendance> withArchived(List<Attendance> attendance, List<ArchivedAttendance> archived) {
+        List<Attendance> combined = new ArrayList<>(archived.size() + attendance.size());
+        archived.forEach(record -> combined.add(record.toAttendance()));
+        combined.addAll(attendance);
+        return combined;
+    }
+
+    // From the entity's pooled generator, so JDBC and JPA inserts share its ranges and a sequence call covers
+    // allocationSize rows instead of each row consuming a whole increment
+    private Long nextId(Attendance record) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        Generator generator = session.getEntityPersister(null, record).getGenerator();
+        return (Long) ((IdentifierGenerator) generator).generate(session, record);
+    }
+
+    private static Date toSqlDate(LocalDate date) {
+        return date != null ? Date.valueOf(date) : null;
+    }
+
+    private static String statusName(Attendance attendance) {
+        return attendance.getStatus() != null ? attendance.getStatus().name() : null;
     }
-}
\ No newline at end of file
+}
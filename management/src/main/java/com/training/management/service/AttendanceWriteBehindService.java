@@ -0,0 +1,386 @@
+package com.training.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.training.management.model.Attendance;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optional write-behind path for new check-ins (app.attendance.write-behind.enabled).
+ *
+ * A check-in is appended to a local journal and queued, then acknowledged; a single flusher thread saves
+ * queued check-ins through {@link AttendanceService#markAll} once batch-size entries are waiting or
+ * flush-interval has passed. After each committed flush the last journal sequence is written to a
+ * checkpoint, and the journal is truncated whenever it has been fully flushed. On startup any journal
+ * entries past the checkpoint are replayed before new check-ins are accepted.
+ *
+ * A crash between a flush committing and its checkpoint being written replays that flush once more.
+ *
+ * A flush that keeps failing is retried max-retries times with growing pauses, then its check-ins are
+ * saved one by one and those still failing are moved to a dead-letter file next to the journal, so one
+ * bad check-in cannot hold up the journal. Writes that bypass the queue call {@link #awaitFlushed}
+ * first, so they never overtake a check-in that was acknowledged before them.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.attendance.write-behind.enabled", havingValue = "true")
+public class AttendanceWriteBehindService implements SmartLifecycle {
+
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final AttendanceService attendanceService;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<JournalEntry> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final boolean syncJournal;
+    private final int maxRetries;
+    private final Duration syncWait;
+    private final Path journalPath;
+    private final Path checkpointPath;
+    private final Path deadLetterPath;
+
+    // Appends and queue inserts happen together so the queue stays in journal order
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Condition flushed = appendLock.newCondition();
+    private FileChannel journal;
+    private long lastAppendedSeq;
+    private long checkpointSeq;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public AttendanceWriteBehindService(AttendanceService attendanceService,
+                                        ObjectMapper objectMapper,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${app.attendance.write-behind.queue-capacity:10000}") int queueCapacity,
+                                        @Value("${app.attendance.write-behind.batch-size:500}") int batchSize,
+                                        @Value("${app.attendance.write-behind.flush-interval:200ms}") Duration flushInterval,
+                                        @Value("${app.attendance.write-behind.sync-journal:false}") boolean syncJournal,
+                                        @Value("${app.attendance.write-behind.max-retries:8}") int maxRetries,
+                                        @Value("${app.attendance.write-behind.sync-wait:5s}") Duration syncWait,
+                                        @Value("${app.attendance.write-behind.journal-dir:./data/attendance-journal}") Path journalDir) {
+        this.attendanceService = attendanceService;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.syncJournal = syncJournal;
+        this.maxRetries = maxRetries;
+        this.syncWait = syncWait;
+        this.journalPath = journalDir.resolve("attendance.journal");
+        this.checkpointPath = journalDir.resolve("attendance.checkpoint");
+        this.deadLetterPath = journalDir.resolve("attendance.deadletter");
+
+        Gauge.builder("attendance.write.behind.queue", queue, BlockingQueue::size)
+                .description("Check-ins acknowledged but not yet saved")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Journals and queues a new check-in. Returns false when the caller should save synchronously
+     * instead: write-behind is stopped, the queue is full or the journal cannot be written.
+     */
+    public boolean enqueue(Attendance attendance) {
+        // Updates and incomplete records take the synchronous path and its error handling
+        if (!running || attendance.getId() != null || attendance.getTraineeId() == null
+                || attendance.getBatchId() == null || attendance.getDate() == null || attendance.getStatus() == null) {
+            return false;
+        }
+        appendLock.lock();
+        try {
+            if (queue.remainingCapacity() == 0) {
+                return false;
+            }
+            JournalEntry entry = new JournalEntry(lastAppendedSeq + 1, attendance.getTraineeId(),
+                    attendance.getBatchId(), attendance.getDate(), attendance.getStatus());
+            append(entry);
+            lastAppendedSeq = entry.seq();
+            queue.add(entry);
+            return true;
+        } catch (IOException e) {
+            log.warn("Attendance journal append failed, saving synchronously", e);
+            return false;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Waits up to sync-wait until every check-in journaled so far is saved or dead-lettered. Returns false
+     * on timeout; the caller should then refuse its write rather than let it overtake queued check-ins.
+     */
+    public boolean awaitFlushed() throws InterruptedException {
+        long remaining = syncWait.toNanos();
+        appendLock.lock();
+        try {
+            long target = lastAppendedSeq;
+            while (checkpointSeq < target) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = flushed.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        try {
+            Files.createDirectories(journalPath.getParent());
+            replay();
+            journal = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open attendance journal " + journalPath, e);
+        }
+        running = true;
+        flusher = new Thread(this::flushLoop, "attendance-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        // New check-ins fall back to synchronous saves; the flusher drains what is already queued
+        running = false;
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+            journal.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Could not close attendance journal", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void flushLoop() {
+        List<JournalEntry> batch = new ArrayList<>(batchSize);
+        int failures = 0;
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (failures > maxRetries) {
+                    // Out of retries: settle what can be saved and dead-letter the rest
+                    flushIndividually(batch, true);
+                    failures = 0;
+                }
+                if (batch.isEmpty()) {
+                    collect(batch);
+                }
+                if (!batch.isEmpty()) {
+                    flushOrSplit(batch);
+                    batch.clear();
+                    failures = 0;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Keep the batch and retry; entries stay journaled until a flush commits
+                failures++;
+                log.warn("Attendance write-behind flush of {} check-ins failed (attempt {} of {})",
+                        batch.size(), failures, maxRetries + 1, e);
+                sleepQuietly(backoff(failures));
+            }
+        }
+    }
+
+    private Duration backoff(int failures) {
+        Duration pause = flushInterval.multipliedBy(5L << Math.min(failures - 1, 10));
+        return pause.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : pause;
+    }
+
+    // Waits for a first entry, then fills the batch until it is full or flush-interval has passed
+    private void collect(List<JournalEntry> batch) throws InterruptedException {
+        JournalEntry first = queue.poll(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushInterval.toNanos();
+        while (batch.size() < batchSize) {
+            if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            JournalEntry next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<JournalEntry> batch) {
+        attendanceService.markAll(batch.stream().map(JournalEntry::toAttendance).toList());
+        checkpoint(batch.get(batch.size() - 1).seq());
+    }
+
+    private void flushOrSplit(List<JournalEntry> batch) {
+        try {
+            flush(batch);
+        } catch (DataIntegrityViolationException e) {
+            flushIndividually(batch, false);
+        }
+    }
+
+    // One bad check-in must not block the queue: save the rest one by one and dead-letter the rejects.
+    // Only integrity violations are rejects unless lastAttempt; other failures propagate and are retried.
+    private void flushIndividually(List<JournalEntry> batch, boolean lastAttempt) {
+        Iterator<JournalEntry> entries = batch.iterator();
+        while (entries.hasNext()) {
+            JournalEntry entry = entries.next();
+            try {
+                flush(List.of(entry));
+            } catch (RuntimeException e) {
+                if (!lastAttempt && !(e instanceof DataIntegrityViolationException)) {
+                    throw e;
+                }
+                deadLetter(entry, e);
+                checkpoint(entry.seq());
+            }
+            // Removed as soon as it is settled, so a retry after a transient failure skips it
+            entries.remove();
+        }
+    }
+
+    private void deadLetter(JournalEntry entry, RuntimeException cause) {
+        String reason = cause instanceof NestedRuntimeException nested
+                ? nested.getMostSpecificCause().getMessage() : cause.getMessage();
+        log.error("Moving journaled check-in {} to {}: {}", entry, deadLetterPath, reason);
+        try {
+            Files.writeString(deadLetterPath, objectMapper.writeValueAsString(new DeadLetter(entry, reason)) + "\n",
+                    StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write attendance dead-letter file " + deadLetterPath, e);
+        }
+    }
+
+    private void checkpoint(long seq) {
+        try {
+            Path tmp = checkpointPath.resolveSibling(checkpointPath.getFileName() + ".tmp");
+            Files.writeString(tmp, Long.toString(seq));
+            Files.move(tmp, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            appendLock.lock();
+            try {
+                checkpointSeq = seq;
+                flushed.signalAll();
+                if (journal != null && lastAppendedSeq == seq) {
+                    journal.truncate(0);
+                }
+            } finally {
+                appendLock.unlock();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write attendance journal checkpoint", e);
+        }
+    }
+
+    private void replay() throws IOException {
+        long checkpoint = Files.exists(checkpointPath) ? Long.parseLong(Files.readString(checkpointPath).trim()) : 0;
+        lastAppendedSeq = checkpoint;
+        checkpointSeq = checkpoint;
+        if (!Files.exists(journalPath)) {
+            return;
+        }
+
+        List<JournalEntry> pending = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    JournalEntry entry = objectMapper.readValue(line, JournalEntry.class);
+                    lastAppendedSeq = Math.max(lastAppendedSeq, entry.seq());
+                    if (entry.seq() > checkpoint) {
+                        pending.add(entry);
+                    }
+                } catch (IOException e) {
+                    // A torn last line from a crash mid-append was never acknowledged
+                    log.warn("Skipping unreadable attendance journal entry: {}", line);
+                }
+            }
+        }
+
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            flushOrSplit(new ArrayList<>(pending.subList(from, Math.min(from + batchSize, pending.size()))));
+        }
+        if (!pending.isEmpty()) {
+            log.info("Replayed {} journaled attendance check-ins", pending.size());
+        }
+        checkpoint(lastAppendedSeq);
+        Files.write(journalPath, new byte[0]);
+    }
+
+    private void append(JournalEntry entry) throws IOException {
+        byte[] line = (objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(line);
+        while (buffer.hasRemaining()) {
+            journal.write(buffer);
+        }
+        if (syncJournal) {
+            journal.force(false);
+        }
+    }
+
+    private void sleepQuietly(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    record DeadLetter(JournalEntry entry, String error) {
+    }
+
+    record JournalEntry(long seq, Long traineeId, Long batchId, LocalDate date, Attendance.AttendanceStatus status) {
+
+        Attendance toAttendance() {
+            return new Attendance(null, traineeId, null, batchId, null, date, status);
+        }
+    }
+}
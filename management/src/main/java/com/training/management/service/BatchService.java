@@ -1,65 +1,207 @@
 package com.training.management.service;
 
+import com.training.management.dto.BatchSummary;
+import com.training.management.dto.TraineeStatusCountView;
+import com.training.management.dto.TrainerSummary;
+import com.training.management.event.BatchRenamedEvent;
+import com.training.management.model.Attendance;
 import com.training.management.model.Batch;
-import com.training.management.model.Trainer;
+import com.training.management.repository.AttendanceRepository;
 import com.training.management.repository.BatchRepository;
+import com.training.management.repository.FieldProjectionRepository;
 import com.training.management.repository.TrainerRepository;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class BatchService {
 
     private final BatchRepository batchRepository;
+    private final FieldProjectionRepository fieldProjectionRepository;
     private final TrainerRepository trainerRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final TrainerService trainerService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TableVersions tableVersions;
+    private final TrainerScheduleService trainerScheduleService;
 
     public List<Batch> getAllBatches() {
         return batchRepository.findAll();
     }
 
+    public List<Batch> getBatchesAfter(Long after, Limit limit) {
+        return batchRepository.findByIdGreaterThanOrderByIdAsc(after, limit);
+    }
+
+    public List<Map<String, Object>> getBatchFields(List<String> fields, long after, Limit limit) {
+        return fieldProjectionRepository.findFields(Batch.class, fields, after, limit);
+    }
+
+    public Stream<Batch> streamAllBatches() {
+        return batchRepository.streamAll();
+    }
+
     public Optional<Batch> getBatchById(Long id) {
         return batchRepository.findById(id);
     }
 
+    // Batch, trainer, trainees and attendance summary in two queries: one joined select plus one aggregate
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getBatchDetails(Long id) {
+        return batchRepository.findDetailsById(id).map(batch -> {
+            Map<Long, Map<Attendance.AttendanceStatus, Long>> countsByTrainee = new HashMap<>();
+            for (TraineeStatusCountView row : attendanceRepository.countByTraineeAndStatus(id)) {
+                countsByTrainee.computeIfAbsent(row.getTraineeId(), k -> new EnumMap<>(Attendance.AttendanceStatus.class))
+                        .put(row.getStatus(), row.getTotal());
+            }
+
+            Map<Attendance.AttendanceStatus, Long> totals = new EnumMap<>(Attendance.AttendanceStatus.class);
+            countsByTrainee.values().forEach(counts -> counts.forEach((status, count) -> totals.merge(status, count, Long::sum)));
+
+            List<Map<String, Object>> trainees = batch.getTrainees().stream()
+                    .map(trainee -> {
+                        Map<String, Object> data = new LinkedHashMap<>();
+                        data.put("trainee", trainee);
+                        data.put("attendance", toAttendanceSummary(countsByTrainee.getOrDefault(trainee.getId(), Map.of())));
+                        return data;
+                    })
+                    .toList();
+
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("batch", batch);
+            details.put("trainer", Hibernate.unproxy(batch.getTrainer()));
+            details.put("trainees", trainees);
+            details.put("attendanceSummary", toAttendanceSummary(totals));
+            return details;
+        });
+    }
+
+    private Map<String, Object> toAttendanceSummary(Map<Attendance.AttendanceStatus, Long> counts) {
+        long present = counts.getOrDefault(Attendance.AttendanceStatus.PRESENT, 0L);
+        long late = counts.getOrDefault(Attendance.AttendanceStatus.LATE, 0L);
+        long absent = counts.getOrDefault(Attendance.AttendanceStatus.ABSENT, 0L);
+        long total = present + late + absent;
+
+        // Late arrivals still count as attended
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("present", present);
+        summary.put("late", late);
+        summary.put("absent", absent);
+        summary.put("attendanceRate", total == 0 ? 0 : Math.round((present + late) * 100.0 / total));
+        return summary;
+    }
+
+    // Cached copy for name/location lookups on write paths
+    @Cacheable(cacheNames = "batches", unless = "#result == null")
+    public Optional<BatchSummary> getCachedBatch(Long id) {
+        return batchRepository.findById(id).map(BatchSummary::of);
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = "trainers", key = "#batch.trainerId", condition = "#batch.trainerId != null")
     public Batch createBatch(Batch batch) {
-        // Assign trainer and update trainer status
         if (batch.getTrainerId() != null) {
-            Optional<Trainer> trainer = trainerRepository.findById(batch.getTrainerId());
-            if (trainer.isPresent()) {
-                Trainer t = trainer.get();
-                batch.setTrainerName(t.getName());
-
-                // Mark trainer as assigned
-                t.setAssigned(true);
-                t.setBatchId(batch.getId());
-                trainerRepository.save(t);
-            }
+            trainerRepository.findById(batch.getTrainerId())
+                    .ifPresent(trainer -> batch.setTrainerName(trainer.getName()));
         }
 
-        return batchRepository.save(batch);
+        Batch saved = batchRepository.save(batch);
+        // Rejects an overlapping booking for the trainer; the exception rolls the insert back
+        trainerScheduleService.assign(saved.getId());
+        syncTrainerAssignment(saved.getTrainerId());
+        tableVersions.bump(TableVersions.BATCHES, TableVersions.TRAINERS);
+        return saved;
     }
 
     public List<Batch> getBatchesByLocation(String location) {
         return batchRepository.findByLocation(location);
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = "batches", key = "#id")
     public void deleteBatch(Long id) {
+        Long trainerId = batchRepository.findById(id).map(Batch::getTrainerId).orElse(null);
         batchRepository.deleteById(id);
+        trainerScheduleService.release(id);
+        syncTrainerAssignment(trainerId);
+        tableVersions.bump(TableVersions.BATCHES, TableVersions.TRAINERS);
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = "batches", key = "#batch.id")
     public Batch updateBatch(Batch batch) {
+        Optional<Batch> existing = batchRepository.findById(batch.getId());
+        boolean renamed = existing
+                .map(current -> !Objects.equals(current.getCourseName(), batch.getCourseName())
+                        || !Objects.equals(current.getLocation(), batch.getLocation()))
+                .orElse(false);
+        Long previousTrainerId = existing.map(Batch::getTrainerId).orElse(null);
+
         // Update trainer assignment if changed
         if (batch.getTrainerId() != null) {
-            Optional<Trainer> trainer = trainerRepository.findById(batch.getTrainerId());
+            Optional<TrainerSummary> trainer = trainerService.getCachedTrainer(batch.getTrainerId());
             if (trainer.isPresent()) {
-                Trainer t = trainer.get();
-                batch.setTrainerName(t.getName());
+                TrainerSummary t = trainer.get();
+                batch.setTrainerName(t.name());
             }
         }
-        return batchRepository.save(batch);
+        // Edits the managed instance, so the request's empty trainer association is never merged over it
+        Batch saved = existing
+                .map(current -> {
+                    copyEditableFields(batch, current);
+                    return current;
+                })
+                .orElseGet(() -> batchRepository.save(batch));
+        trainerScheduleService.assign(saved.getId());
+        syncTrainerAssignment(saved.getTrainerId());
+        if (!Objects.equals(previousTrainerId, saved.getTrainerId())) {
+            syncTrainerAssignment(previousTrainerId);
+        }
+        tableVersions.bump(TableVersions.BATCHES, TableVersions.TRAINERS);
+        if (renamed) {
+            eventPublisher.publishEvent(new BatchRenamedEvent(saved.getId()));
+        }
+        return saved;
+    }
+
+    // Column values only: the associations are read-only views and enrolled_count belongs to enrollment
+    private static void copyEditableFields(Batch from, Batch to) {
+        to.setCourseName(from.getCourseName());
+        to.setLocation(from.getLocation());
+        to.setStartDate(from.getStartDate());
+        to.setEndDate(from.getEndDate());
+        to.setTrainerId(from.getTrainerId());
+        to.setTrainerName(from.getTrainerName());
+        to.setMaxCapacity(from.getMaxCapacity());
+        to.setStatus(from.getStatus());
+    }
+
+    // Keeps trainers.assigned / batch_id in step with the schedule index for the trainer list screens
+    private void syncTrainerAssignment(Long trainerId) {
+        if (trainerId == null) {
+            return;
+        }
+        trainerRepository.findById(trainerId).ifPresent(trainer -> {
+            Optional<Long> latest = trainerScheduleService.findLatestBatch(trainerId);
+            trainer.setAssigned(latest.isPresent());
+            trainer.setBatchId(latest.orElse(null));
+            trainerRepository.save(trainer);
+        });
     }
-}
\ No newline at end of file
+}
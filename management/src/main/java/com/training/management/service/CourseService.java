@@ -2,37 +2,74 @@ package com.training.management.service;
 
 import com.training.management.model.Course;
 import com.training.management.repository.CourseRepository;
+import com.training.management.repository.FieldProjectionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class CourseService {
 
     private final CourseRepository courseRepository;
+    private final FieldProjectionRepository fieldProjectionRepository;
+    private final TableVersions tableVersions;
+    private final SearchIndexService searchIndex;
 
     public List<Course> getAllCourses() {
         return courseRepository.findAll();
     }
 
+    public List<Course> getCoursesAfter(Long after, Limit limit) {
+        return courseRepository.findByIdGreaterThanOrderByIdAsc(after, limit);
+    }
+
+    public List<Map<String, Object>> getCourseFields(List<String> fields, long after, Limit limit) {
+        return fieldProjectionRepository.findFields(Course.class, fields, after, limit);
+    }
+
+    public Stream<Course> streamAllCourses() {
+        return courseRepository.streamAll();
+    }
+
+    @Cacheable(cacheNames = "courses", unless = "#result == null")
     public Optional<Course> getCourseById(Long id) {
         return courseRepository.findById(id);
     }
 
+    @Transactional
     public Course createCourse(Course course) {
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        searchIndex.put(null, SearchIndexService.document(saved));
+        tableVersions.bump(TableVersions.COURSES);
+        return saved;
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = "courses", key = "#id")
     public Course updateCourse(Long id, Course course) {
+        SearchIndexService.Document previous = courseRepository.findById(id).map(SearchIndexService::document).orElse(null);
         course.setId(id);
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        searchIndex.put(previous, SearchIndexService.document(saved));
+        tableVersions.bump(TableVersions.COURSES);
+        return saved;
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = "courses", key = "#id")
     public void deleteCourse(Long id) {
+        courseRepository.findById(id).ifPresent(course -> searchIndex.remove(SearchIndexService.document(course)));
         courseRepository.deleteById(id);
+        tableVersions.bump(TableVersions.COURSES);
     }
 
     public List<Course> getCoursesByCategory(String category) {
@@ -0,0 +1,119 @@
+package com.training.management.service;
+
+import com.training.management.event.BatchRenamedEvent;
+import com.training.management.event.TraineeRenamedEvent;
+import com.training.management.event.TrainerRenamedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the denormalized name columns (trainees.batch_name/location, attendance.batch_name/trainee_name and
+ * the same columns of attendance_archive, batches.trainer_name) in step with their source rows after a
+ * rename commits.
+ *
+ * Each statement re-reads the current name from the source table and touches at most chunkSize rows,
+ * so locks stay short and overlapping renames converge on the latest value.
+ */
+@Slf4j
+@Service
+public class NamePropagationService {
+
+    private static final String TRAINEE_BATCH_NAMES = """
+            update trainees t
+            set batch_name = (select b.course_name from batches b where b.id = t.batch_id),
+                location = (select b.location from batches b where b.id = t.batch_id)
+            where t.batch_id = ?
+              and (coalesce(t.batch_name, '') <> coalesce((select b.course_name from batches b where b.id = t.batch_id), '')
+                or coalesce(t.location, '') <> coalesce((select b.location from batches b where b.id = t.batch_id), ''))
+            limit ?""";
+
+    private static final String ATTENDANCE_BATCH_NAMES = """
+            update attendance a
+            set batch_name = (select b.course_name from batches b where b.id = a.batch_id)
+            where a.batch_id = ?
+              and coalesce(a.batch_name, '') <> coalesce((select b.course_name from batches b where b.id = a.batch_id), '')
+            limit ?""";
+
+    private static final String ATTENDANCE_TRAINEE_NAMES = """
+            update attendance a
+            set trainee_name = (select t.name from trainees t where t.id = a.trainee_id)
+            where a.trainee_id = ?
+              and coalesce(a.trainee_name, '') <> coalesce((select t.name from trainees t where t.id = a.trainee_id), '')
+            limit ?""";
+
+    private static final String ARCHIVE_BATCH_NAMES = """
+            update attendance_archive a
+            set batch_name = (select b.course_name from batches b where b.id = a.batch_id)
+            where a.batch_id = ?
+              and coalesce(a.batch_name, '') <> coalesce((select b.course_name from batches b where b.id = a.batch_id), '')
+            limit ?""";
+
+    private static final String ARCHIVE_TRAINEE_NAMES = """
+            update attendance_archive a
+            set trainee_name = (select t.name from trainees t where t.id = a.trainee_id)
+            where a.trainee_id = ?
+              and coalesce(a.trainee_name, '') <> coalesce((select t.name from trainees t where t.id = a.trainee_id), '')
+            limit ?""";
+
+    private static final String BATCH_TRAINER_NAMES = """
+            update batches b
+            set trainer_name = (select t.name from trainers t where t.id = b.trainer_id)
+            where b.trainer_id = ?
+              and coalesce(b.trainer_name, '') <> coalesce((select t.name from trainers t where t.id = b.trainer_id), '')
+            limit ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TableVersions tableVersions;
+    private final int chunkSize;
+
+    public NamePropagationService(JdbcTemplate jdbcTemplate, TableVersions tableVersions,
+                                  @Value("${app.propagation.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tableVersions = tableVersions;
+        this.chunkSize = chunkSize;
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBatchRenamed(BatchRenamedEvent event) {
+        long trainees = propagate(TRAINEE_BATCH_NAMES, event.batchId());
+        long attendance = propagate(ATTENDANCE_BATCH_NAMES, event.batchId());
+        long archived = propagate(ARCHIVE_BATCH_NAMES, event.batchId());
+        tableVersions.bump(TableVersions.TRAINEES, TableVersions.ATTENDANCE);
+        log.info("Batch {} renamed: updated {} trainees, {} attendance records, {} archived records",
+                event.batchId(), trainees, attendance, archived);
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTraineeRenamed(TraineeRenamedEvent event) {
+        long attendance = propagate(ATTENDANCE_TRAINEE_NAMES, event.traineeId());
+        long archived = propagate(ARCHIVE_TRAINEE_NAMES, event.traineeId());
+        tableVersions.bump(TableVersions.ATTENDANCE);
+        log.info("Trainee {} renamed: updated {} attendance records, {} archived records",
+                event.traineeId(), attendance, archived);
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTrainerRenamed(TrainerRenamedEvent event) {
+        long batches = propagate(BATCH_TRAINER_NAMES, event.trainerId());
+        tableVersions.bump(TableVersions.BATCHES);
+        log.info("Trainer {} renamed: updated {} batches", event.trainerId(), batches);
+    }
+
+    // Runs outside a transaction, so every chunk commits on its own
+    private long propagate(String sql, Long id) {
+        long total = 0;
+        int updated;
+        do {
+            updated = jdbcTemplate.update(sql, id, chunkSize);
+            total += updated;
+        } while (updated == chunkSize);
+        return total;
+    }
+}
@@ -0,0 +1,182 @@
+package com.training.management.service;
+
+import com.training.management.repository.ArchivedAttendanceRepository;
+import com.training.management.util.CsvWriter;
+import com.training.management.util.TableWriter;
+import com.training.management.util.XlsxWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class ReportExportService {
+
+    public enum Report {
+        ATTENDANCE(TableVersions.ATTENDANCE),
+        ENROLLMENTS(TableVersions.BATCHES, TableVersions.TRAINEES),
+        OCCUPANCY(TableVersions.TRAINERS, TableVersions.BATCHES);
+
+        private final String[] tables;
+
+        Report(String... tables) {
+            this.tables = tables;
+        }
+
+        public static Optional<Report> fromPath(String value) {
+            return Arrays.stream(values()).filter(r -> r.name().equalsIgnoreCase(value)).findFirst();
+        }
+
+        public String fileName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        public String[] tables() {
+            return tables;
+        }
+    }
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public static Optional<Format> fromParam(String value) {
+            return Arrays.stream(values()).filter(f -> f.extension.equalsIgnoreCase(value)).findFirst();
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+    }
+
+    // Rows per network round trip; with MariaDB Connector/J a positive fetch size streams the result set
+    private static final int FETCH_SIZE = 1000;
+
+    // Ordered by (date, id) so MariaDB reads idx_date in order instead of sorting the whole range
+    private static final String ATTENDANCE_SQL = """
+            select a.date, a.batch_id, a.batch_name, a.trainee_id, a.trainee_name, a.status, a.id
+            from attendance a
+            where a.date between ? and ?
+            order by a.date, a.id""";
+    // Ranges reaching into archived history; the union is sorted as a whole, so only used when needed
+    private static final String ATTENDANCE_WITH_ARCHIVE_SQL = """
+            select a.date, a.batch_id, a.batch_name, a.trainee_id, a.trainee_name, a.status, a.id
+            from attendance a
+            where a.date between ? and ?
+            union all
+            select r.date, r.batch_id, r.batch_name, r.trainee_id, r.trainee_name, r.status, r.id
+            from attendance_archive r
+            where r.date between ? and ?
+            order by date, id""";
+    private static final List<String> ATTENDANCE_HEADER =
+            List.of("Date", "Batch ID", "Batch", "Trainee ID", "Trainee", "Status", "Record ID");
+
+    // Batches running at any point in the window, with their enrolled trainees
+    private static final String ENROLLMENTS_SQL = """
+            select b.id, b.course_name, b.location, b.start_date, b.end_date, b.trainer_name,
+                   t.id as trainee_id, t.name, t.email, t.phone
+            from batches b
+            join trainees t on t.batch_id = b.id
+            where b.start_date <= ? and b.end_date >= ?
+            order by b.id, t.id""";
+    private static final List<String> ENROLLMENTS_HEADER = List.of("Batch ID", "Course", "Location", "Start Date",
+            "End Date", "Trainer", "Trainee ID", "Trainee", "Email", "Phone");
+
+    private static final List<String> OCCUPANCY_HEADER =
+            List.of("Trainer ID", "Trainer", "Available Days", "Occupied Days", "Occupancy %");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArchivedAttendanceRepository archivedAttendanceRepository;
+    private final ReportService reportService;
+
+    // Read-only, so with replicas configured the export runs there instead of on the primary
+    @Transactional(readOnly = true)
+    public void export(Report report, Format format, LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        TableWriter writer = format == Format.XLSX
+                ? new XlsxWriter(out, report.fileName())
+                : new CsvWriter(out);
+        try (TableVersions.ReadScope scope = TableVersions.readScope(report.tables())) {
+            write(report, writer, from, to);
+        }
+        writer.finish();
+    }
+
+    private void write(Report report, TableWriter writer, LocalDate from, LocalDate to) throws IOException {
+        switch (report) {
+            case ATTENDANCE -> {
+                if (archivedAttendanceRepository.existsByDateBetween(from, to)) {
+                    stream(writer, ATTENDANCE_HEADER, ATTENDANCE_WITH_ARCHIVE_SQL, from, to, from, to);
+                } else {
+                    stream(writer, ATTENDANCE_HEADER, ATTENDANCE_SQL, from, to);
+                }
+            }
+            case ENROLLMENTS -> stream(writer, ENROLLMENTS_HEADER, ENROLLMENTS_SQL, to, from);
+            case OCCUPANCY -> {
+                // One row per trainer, computed in a single pass over the window's batches
+                writer.writeRow(OCCUPANCY_HEADER.toArray());
+                for (Map<String, Object> row : reportService.getTrainerOccupancy(from, to)) {
+                    writer.writeRow(row.get("trainerId"), row.get("trainerName"), row.get("availableDays"),
+                            row.get("occupiedDays"), row.get("occupancyRate"));
+                }
+            }
+        }
+    }
+
+    // Rows go from a forward-only cursor to the writer one at a time; nothing is collected in between
+    private void stream(TableWriter writer, List<String> header, String sql, LocalDate... parameters)
+            throws IOException {
+        writer.writeRow(header.toArray());
+        int columns = header.size();
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);
+                for (int i = 0; i < parameters.length; i++) {
+                    statement.setDate(i + 1, Date.valueOf(parameters[i]));
+                }
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                Object[] values = new Object[columns];
+                for (int i = 0; i < columns; i++) {
+                    Object value = rs.getObject(i + 1);
+                    values[i] = value instanceof Date date ? date.toLocalDate() : value;
+                }
+                try {
+                    writer.writeRow(values);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.training.management.service;
+
+import com.training.management.dto.AttendanceTrendView;
+import com.training.management.dto.BatchScheduleView;
+import com.training.management.dto.TrainerNameView;
+import com.training.management.repository.AttendanceDailyRollupRepository;
+import com.training.management.repository.BatchRepository;
+import com.training.management.repository.TrainerRepository;
+import com.training.management.util.BusinessDays;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class ReportService {
+
+    private final AttendanceDailyRollupRepository rollupRepository;
+    private final BatchRepository batchRepository;
+    private final TrainerRepository trainerRepository;
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getTrainerOccupancy(LocalDate from, LocalDate to) {
+        long availableDays = BusinessDays.count(from, to);
+        Map<Long, Long> occupiedByTrainer = computeOccupiedDays(from, to);
+
+        return trainerRepository.findAllNames().stream()
+                .map(trainer -> toOccupancyData(trainer, availableDays,
+                        occupiedByTrainer.getOrDefault(trainer.getId(), 0L)))
+                .toList();
+    }
+
+    // One pass over batches sorted by (trainer, start): clamp to the window, merge overlaps, count weekdays
+    private Map<Long, Long> computeOccupiedDays(LocalDate from, LocalDate to) {
+        Map<Long, Long> occupied = new HashMap<>();
+        Long trainerId = null;
+        LocalDate runStart = null;
+        LocalDate runEnd = null;
+
+        for (BatchScheduleView batch : batchRepository.findTrainerSchedules(from, to)) {
+            LocalDate start = batch.getStartDate().isBefore(from) ? from : batch.getStartDate();
+            LocalDate end = batch.getEndDate().isAfter(to) ? to : batch.getEndDate();
+
+            if (batch.getTrainerId().equals(trainerId) && !start.isAfter(runEnd.plusDays(1))) {
+                if (end.isAfter(runEnd)) {
+                    runEnd = end;
+                }
+                continue;
+            }
+            if (trainerId != null) {
+                occupied.merge(trainerId, BusinessDays.count(runStart, runEnd), Long::sum);
+            }
+            trainerId = batch.getTrainerId();
+            runStart = start;
+            runEnd = end;
+        }
+        if (trainerId != null) {
+            occupied.merge(trainerId, BusinessDays.count(runStart, runEnd), Long::sum);
+        }
+        return occupied;
+    }
+
+    private Map<String, Object> toOccupancyData(TrainerNameView trainer, long availableDays, long occupiedDays) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("trainerId", trainer.getId());
+        data.put("trainerName", trainer.getName());
+        data.put("availableDays", availableDays);
+        data.put("occupiedDays", occupiedDays);
+        data.put("occupancyRate", availableDays == 0 ? 0 : Math.round(occupiedDays * 100.0 / availableDays));
+        return data;
+    }
+
+    public List<Map<String, Object>> getAttendanceTrends() {
+        return toTrendData(rollupRepository.findAttendanceTrends());
+    }
+
+    public List<Map<String, Object>> getAttendanceTrendsByBatch(Long batchId) {
+        return toTrendData(rollupRepository.findAttendanceTrendsByBatchId(batchId));
+    }
+
+    private List<Map<String, Object>> toTrendData(List<AttendanceTrendView> rows) {
+        return rows.stream()
+                .map(row -> {
+                    long present = row.getPresent();
+                    long late = row.getLate();
+                    long absent = row.getAbsent();
+                    long total = present + late + absent;
+
+                    // Late arrivals still count as attended
+                    Map<String, Object> data = new LinkedHashMap<>();
+                    data.put("session", row.getDate().toString());
+                    data.put("date", row.getDate());
+                    data.put("present", present);
+                    data.put("late", late);
+                    data.put("absent", absent);
+                    data.put("attendanceRate", total == 0 ? 0 : Math.round((present + late) * 100.0 / total));
+                    return data;
+                })
+                .toList();
+    }
+}
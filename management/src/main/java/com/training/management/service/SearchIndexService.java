@@ -0,0 +1,362 @@
+package com.training.management.service;
+
+import com.training.management.model.Course;
+import com.training.management.model.Trainee;
+import com.training.management.model.Trainer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index for type-ahead search over trainee name/email/phone, trainer name and
+ * course name/description. Terms map to sorted arrays of packed (id, type) references; every query
+ * term is matched as a prefix, and exact matches and name matches rank higher. A prefix with more
+ * completions than MAX_EXPANSIONS is expanded to its most frequent ones and the page is marked
+ * incomplete, so the client can ask for more characters. The services call
+ * {@link #put} / {@link #remove} with the before and after state of each write, applied after commit.
+ * Like {@link TableVersions}, the index lives in this JVM and relies on every write going through it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchIndexService {
+
+    public enum Type { TRAINEE, TRAINER, COURSE }
+
+    public record Document(Type type, Long id, List<String> nameTerms, List<String> detailTerms) {
+    }
+
+    public record Hit(Type type, Long id, int score) {
+    }
+
+    // complete is false when a short prefix was expanded to its most frequent completions only
+    public record Page(int total, List<Hit> hits, boolean complete) {
+    }
+
+    private static final Pattern TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_TERM_LENGTH = 64;
+    // Completions considered per query term and field, so one-letter prefixes stay cheap
+    private static final int MAX_EXPANSIONS = 256;
+
+    // Best first: higher score, then lower reference for a stable order
+    private static final Comparator<Map.Entry<Long, Integer>> RANKING =
+            Map.Entry.<Long, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+    private static final Comparator<Match> BY_FREQUENCY = Comparator.comparingInt(match -> match.postings().size);
+
+    private static final int NAME_EXACT = 8;
+    private static final int NAME_PREFIX = 4;
+    private static final int DETAIL_EXACT = 2;
+    private static final int DETAIL_PREFIX = 1;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private TreeMap<String, Postings> nameIndex = new TreeMap<>();
+    private TreeMap<String, Postings> detailIndex = new TreeMap<>();
+
+    public static Document document(Trainee trainee) {
+        return new Document(Type.TRAINEE, trainee.getId(), terms(trainee.getName()),
+                terms(trainee.getEmail(), trainee.getPhone()));
+    }
+
+    public static Document document(Trainer trainer) {
+        return new Document(Type.TRAINER, trainer.getId(), terms(trainer.getName()), List.of());
+    }
+
+    public static Document document(Course course) {
+        return new Document(Type.COURSE, course.getId(), terms(course.getCourseName()), terms(course.getDescription()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        TreeMap<String, Postings> names = new TreeMap<>();
+        TreeMap<String, Postings> details = new TreeMap<>();
+        int[] documents = new int[1];
+
+        // Ordered by id so postings are built by appending
+        jdbcTemplate.query("select id, name, email, phone from trainees order by id", rs -> {
+            add(names, details, new Document(Type.TRAINEE, rs.getLong("id"), terms(rs.getString("name")),
+                    terms(rs.getString("email"), rs.getString("phone"))));
+            documents[0]++;
+        });
+        jdbcTemplate.query("select id, name from trainers order by id", rs -> {
+            add(names, details, new Document(Type.TRAINER, rs.getLong("id"), terms(rs.getString("name")), List.of()));
+            documents[0]++;
+        });
+        jdbcTemplate.query("select id, course_name, description from courses order by id", rs -> {
+            add(names, details, new Document(Type.COURSE, rs.getLong("id"), terms(rs.getString("course_name")),
+                    terms(rs.getString("description"))));
+            documents[0]++;
+        });
+
+        lock.writeLock().lock();
+        try {
+            nameIndex = names;
+            detailIndex = details;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Search index loaded: {} documents, {} terms", documents[0], names.size() + details.size());
+    }
+
+    // Replaces `previous` (null for a new row) with `current` once the surrounding transaction commits
+    public void put(Document previous, Document current) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (previous != null) {
+                    remove(nameIndex, detailIndex, previous);
+                }
+                add(nameIndex, detailIndex, current);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void putAll(List<Document> documents) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                documents.forEach(document -> add(nameIndex, detailIndex, document));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Document previous) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(nameIndex, detailIndex, previous);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public Page search(String query, int offset, int limit) {
+        List<String> queryTerms = terms(query);
+        if (queryTerms.isEmpty()) {
+            return new Page(0, List.of(), true);
+        }
+
+        Map<Long, Integer> scores;
+        boolean complete = true;
+        lock.readLock().lock();
+        try {
+            List<List<Match>> matches = new ArrayList<>();
+            for (String term : queryTerms) {
+                List<Match> termMatches = new ArrayList<>();
+                complete &= collect(nameIndex, term, NAME_EXACT, NAME_PREFIX, termMatches);
+                complete &= collect(detailIndex, term, DETAIL_EXACT, DETAIL_PREFIX, termMatches);
+                matches.add(termMatches);
+            }
+            matches.sort(Comparator.comparingLong(SearchIndexService::candidateCount));
+
+            // Score the rarest term's documents, then keep those that also match every other term
+            scores = new HashMap<>();
+            for (Match match : matches.get(0)) {
+                Postings postings = match.postings();
+                for (int i = 0; i < postings.size; i++) {
+                    scores.merge(postings.refs[i], match.weight(), Math::max);
+                }
+            }
+            for (List<Match> termMatches : matches.subList(1, matches.size())) {
+                Iterator<Map.Entry<Long, Integer>> candidates = scores.entrySet().iterator();
+                while (candidates.hasNext()) {
+                    Map.Entry<Long, Integer> candidate = candidates.next();
+                    int best = 0;
+                    for (Match match : termMatches) {
+                        if (match.weight() > best && match.postings().contains(candidate.getKey())) {
+                            best = match.weight();
+                        }
+                    }
+                    if (best == 0) {
+                        candidates.remove();
+                    } else {
+                        candidate.setValue(candidate.getValue() + best);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Only the page and the hits before it are ordered: a heap of offset + limit entries, worst on top
+        int keep = (int) Math.min((long) offset + limit, scores.size());
+        PriorityQueue<Map.Entry<Long, Integer>> top = new PriorityQueue<>(Math.max(1, keep), RANKING.reversed());
+        for (Map.Entry<Long, Integer> candidate : scores.entrySet()) {
+            if (top.size() < keep) {
+                top.add(candidate);
+            } else if (keep > 0 && RANKING.compare(candidate, top.peek()) < 0) {
+                top.poll();
+                top.add(candidate);
+            }
+        }
+        List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING);
+        List<Hit> hits = ranked.subList(Math.min(offset, ranked.size()), ranked.size()).stream()
+                .map(entry -> new Hit(typeOf(entry.getKey()), idOf(entry.getKey()), entry.getValue()))
+                .toList();
+        return new Page(scores.size(), hits, complete);
+    }
+
+    // Adds the term's completions, keeping the MAX_EXPANSIONS found in most documents (and the exact term);
+    // returns false when rarer completions were left out
+    private static boolean collect(TreeMap<String, Postings> index, String term, int exactWeight, int prefixWeight,
+                                   List<Match> matches) {
+        NavigableMap<String, Postings> completions = index.subMap(term, true, term + Character.MAX_VALUE, false);
+        if (completions.size() <= MAX_EXPANSIONS) {
+            completions.forEach((completion, postings) -> matches.add(
+                    new Match(postings, completion.length() == term.length() ? exactWeight : prefixWeight)));
+            return true;
+        }
+        Postings exact = index.get(term);
+        if (exact != null) {
+            matches.add(new Match(exact, exactWeight));
+        }
+        PriorityQueue<Match> frequent = new PriorityQueue<>(MAX_EXPANSIONS, BY_FREQUENCY);
+        for (Map.Entry<String, Postings> completion : completions.tailMap(term, false).entrySet()) {
+            Match match = new Match(completion.getValue(), prefixWeight);
+            if (frequent.size() < MAX_EXPANSIONS) {
+                frequent.add(match);
+            } else if (match.postings().size > frequent.peek().postings().size) {
+                frequent.poll();
+                frequent.add(match);
+            }
+        }
+        matches.addAll(frequent);
+        return false;
+    }
+
+    private static long candidateCount(List<Match> matches) {
+        return matches.stream().mapToLong(match -> match.postings().size).sum();
+    }
+
+    private static void add(Map<String, Postings> names, Map<String, Postings> details, Document document) {
+        long ref = ref(document.type(), document.id());
+        document.nameTerms().forEach(term -> names.computeIfAbsent(term, t -> new Postings()).add(ref));
+        document.detailTerms().forEach(term -> details.computeIfAbsent(term, t -> new Postings()).add(ref));
+    }
+
+    private static void remove(Map<String, Postings> names, Map<String, Postings> details, Document document) {
+        long ref = ref(document.type(), document.id());
+        document.nameTerms().forEach(term -> removeRef(names, term, ref));
+        document.detailTerms().forEach(term -> removeRef(details, term, ref));
+    }
+
+    private static void removeRef(Map<String, Postings> index, String term, long ref) {
+        Postings postings = index.get(term);
+        if (postings != null && postings.remove(ref) && postings.size == 0) {
+            index.remove(term);
+        }
+    }
+
+    static List<String> terms(String... values) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String value : values) {
+            if (value == null) {
+                continue;
+            }
+            for (String term : TERM_SEPARATOR.split(value.toLowerCase(Locale.ROOT))) {
+                if (!term.isEmpty()) {
+                    terms.add(term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term);
+                }
+            }
+        }
+        return List.copyOf(terms);
+    }
+
+    private static long ref(Type type, Long id) {
+        return id << 2 | type.ordinal();
+    }
+
+    private static Type typeOf(long ref) {
+        return Type.values()[(int) (ref & 3)];
+    }
+
+    private static long idOf(long ref) {
+        return ref >>> 2;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record Match(Postings postings, int weight) {
+    }
+
+    // Sorted set of document references; new rows have the highest ids, so inserts are usually appends
+    private static final class Postings {
+
+        private long[] refs = new long[2];
+        private int size;
+
+        void add(long ref) {
+            if (size > 0 && refs[size - 1] >= ref) {
+                int index = Arrays.binarySearch(refs, 0, size, ref);
+                if (index >= 0) {
+                    return;
+                }
+                insertAt(-index - 1, ref);
+                return;
+            }
+            insertAt(size, ref);
+        }
+
+        boolean remove(long ref) {
+            int index = Arrays.binarySearch(refs, 0, size, ref);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(refs, index + 1, refs, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(long ref) {
+            return Arrays.binarySearch(refs, 0, size, ref) >= 0;
+        }
+
+        private void insertAt(int index, long ref) {
+            if (size == refs.length) {
+                refs = Arrays.copyOf(refs, refs.length * 2);
+            }
+            System.arraycopy(refs, index, refs, index + 1, size - index);
+            refs[index] = ref;
+            size++;
+        }
+    }
+}
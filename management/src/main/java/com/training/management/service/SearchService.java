@@ -0,0 +1,73 @@
+package com.training.management.service;
+
+import com.training.management.repository.CourseRepository;
+import com.training.management.repository.TraineeRepository;
+import com.training.management.repository.TrainerRepository;
+import com.training.management.service.SearchIndexService.Hit;
+import com.training.management.service.SearchIndexService.Type;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    private final SearchIndexService searchIndex;
+    private final TraineeRepository traineeRepository;
+    private final TrainerRepository trainerRepository;
+    private final CourseRepository courseRepository;
+
+    // Ranked matches from the index, loaded with one findAllById per type on the page
+    public Map<String, Object> search(String query, int offset, int limit) {
+        SearchIndexService.Page page = searchIndex.search(query, offset, limit);
+
+        Map<Type, List<Long>> idsByType = page.hits().stream()
+                .collect(Collectors.groupingBy(Hit::type, () -> new EnumMap<>(Type.class),
+                        Collectors.mapping(Hit::id, Collectors.toList())));
+        Map<Type, Map<Long, Object>> items = new EnumMap<>(Type.class);
+        idsByType.forEach((type, ids) -> items.put(type, switch (type) {
+            case TRAINEE -> load(traineeRepository, ids, t -> t.getId());
+            case TRAINER -> load(trainerRepository, ids, t -> t.getId());
+            case COURSE -> load(courseRepository, ids, c -> c.getId());
+        }));
+
+        // Hits whose row was deleted since the index was read are dropped
+        List<Map<String, Object>> results = page.hits().stream()
+                .filter(hit -> items.get(hit.type()).containsKey(hit.id()))
+                .map(hit -> {
+                    Map<String, Object> result = new LinkedHashMap<>();
+                    result.put("type", hit.type().name().toLowerCase(Locale.ROOT));
+                    result.put("id", hit.id());
+                    result.put("score", hit.score());
+                    result.put("item", items.get(hit.type()).get(hit.id()));
+                    return result;
+                })
+                .toList();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("query", query);
+        response.put("total", page.total());
+        // false when a short prefix matched too many terms to expand them all; more characters narrow it
+        response.put("complete", page.complete());
+        response.put("offset", offset);
+        response.put("limit", limit);
+        response.put("results", results);
+        return response;
+    }
+
+    private static <T> Map<Long, Object> load(CrudRepository<T, Long> repository, List<Long> ids, Function<T, Long> idOf) {
+        Map<Long, Object> loaded = new HashMap<>();
+        repository.findAllById(ids).forEach(entity -> loaded.put(idOf.apply(entity), entity));
+        return loaded;
+    }
+}
@@ -0,0 +1,134 @@
+package com.training.management.service;
+
+import com.training.management.model.ArchivedAttendance;
+import com.training.management.model.Attendance;
+import com.training.management.model.AttendanceDailyRollup;
+import com.training.management.model.Batch;
+import com.training.management.model.Course;
+import com.training.management.model.Trainee;
+import com.training.management.model.Trainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory version counter per table, bumped by the service write methods and used to build
+ * ETags for conditional GETs. Counters live in this JVM only, so each instance must see every
+ * write to the tables it tags (single instance, or sticky routing per client).
+ */
+@Component
+public class TableVersions {
+
+    public static final String BATCHES = "batches";
+    public static final String TRAINERS = "trainers";
+    public static final String TRAINEES = "trainees";
+    public static final String COURSES = "courses";
+    public static final String ATTENDANCE = "attendance";
+
+    private static final Map<Class<?>, String> ENTITY_TABLES = Map.of(
+            Batch.class, BATCHES,
+            Trainer.class, TRAINERS,
+            Trainee.class, TRAINEES,
+            Course.class, COURSES,
+            Attendance.class, ATTENDANCE,
+            ArchivedAttendance.class, ATTENDANCE,
+            AttendanceDailyRollup.class, ATTENDANCE);
+
+    // Tables the current thread is about to read; null when the reader did not say
+    private static final ThreadLocal<String[]> READ_SCOPE = new ThreadLocal<>();
+
+    // A restart starts a new ETag space instead of reissuing tags from the previous process
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    // Read by ReplicaDataSource to keep reads right after a write on the primary
+    private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    private volatile long lastAnyWriteNanos;
+    private volatile boolean written;
+
+    /**
+     * Declares the tables this thread reads until the scope is closed, so {@link #writtenWithin} only
+     * looks at writes to those. The outermost scope wins: a handler's declared tables cover the
+     * repository calls made under it.
+     */
+    public static ReadScope readScope(String... tables) {
+        if (READ_SCOPE.get() != null) {
+            return () -> { };
+        }
+        READ_SCOPE.set(tables);
+        return READ_SCOPE::remove;
+    }
+
+    // Scoped to the table tracking the entity's writes; entities without one are left unscoped
+    public static ReadScope readScope(Class<?> entityType) {
+        String table = ENTITY_TABLES.get(entityType);
+        return table != null ? readScope(table) : () -> { };
+    }
+
+    public void bump(String... tables) {
+        // Bumping before commit would let a concurrent read tag old rows with the new version
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(tables);
+                }
+            });
+        } else {
+            increment(tables);
+        }
+    }
+
+    public long version(String table) {
+        return counter(table).get();
+    }
+
+    // Whether a table in the current read scope, or any table without one, was written within the window
+    public boolean writtenWithin(Duration window) {
+        long now = System.nanoTime();
+        String[] tables = READ_SCOPE.get();
+        if (tables == null) {
+            return written && now - lastAnyWriteNanos < window.toNanos();
+        }
+        for (String table : tables) {
+            Long last = lastWriteNanos.get(table);
+            if (last != null && now - last < window.toNanos()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Weak: the same versions are sent as JSON, CBOR or Smile, gzipped or not, and Tomcat skips gzip for strong tags
+    public String etag(String... tables) {
+        StringBuilder etag = new StringBuilder("W/\"").append(epoch);
+        for (String table : tables) {
+            etag.append('-').append(version(table));
+        }
+        return etag.append('"').toString();
+    }
+
+    private void increment(String... tables) {
+        long now = System.nanoTime();
+        for (String table : tables) {
+            counter(table).incrementAndGet();
+            lastWriteNanos.put(table, now);
+        }
+        lastAnyWriteNanos = now;
+        written = true;
+    }
+
+    public interface ReadScope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    private AtomicLong counter(String table) {
+        return versions.computeIfAbsent(table, t -> new AtomicLong());
+    }
+}
@@ -0,0 +1,270 @@
+package com.training.management.service;
+
+import com.training.management.dto.TraineeImportResult;
+import com.training.management.exception.InvalidImportException;
+import com.training.management.model.Batch;
+import com.training.management.model.Trainee;
+import com.training.management.repository.BatchRepository;
+import com.training.management.repository.TraineeRepository;
+import com.training.management.util.CsvReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TraineeImportService {
+
+    static final int CHUNK_SIZE = 1000;
+
+    private static final String INSERT_TRAINEE = """
+            insert into trainees (name, email, phone, batch_id, batch_name, location)
+            values (?, ?, ?, ?, ?, ?)""";
+
+    private static final String LOCK_BATCHES = """
+            select id, max_capacity, enrolled_count from batches where id in (:ids) for update""";
+
+    private static final String ADD_ENROLLED = """
+            update batches set enrolled_count = coalesce(enrolled_count, 0) + ? where id = ?""";
+
+    private static final String SELECT_IMPORTED = """
+            select id, name, email, phone from trainees where email in (:emails)""";
+
+    private final TraineeRepository traineeRepository;
+    private final BatchRepository batchRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TableVersions tableVersions;
+    private final SearchIndexService searchIndex;
+
+    public TraineeImportResult importTrainees(Reader input) throws IOException {
+        TraineeImportResult result = new TraineeImportResult();
+        Set<String> seenEmails = new HashSet<>();
+        Map<Long, Optional<Batch>> batches = new HashMap<>();
+
+        try (CsvReader csv = new CsvReader(input)) {
+            Map<String, Integer> columns = readHeader(csv.readRecord());
+            List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+
+            List<String> record;
+            while ((record = csv.readRecord()) != null) {
+                if (record.stream().allMatch(String::isEmpty)) {
+                    continue;
+                }
+                result.setTotalRows(result.getTotalRows() + 1);
+
+                ImportRow row = parseRow(csv.getLineNumber(), record, columns, result);
+                if (row == null) {
+                    continue;
+                }
+                if (!seenEmails.add(row.email().toLowerCase(Locale.ROOT))) {
+                    result.addError(row.line(), row.email(), "email appears more than once in the file");
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    writeChunk(chunk, batches, result);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, batches, result);
+            }
+        }
+        if (result.getImported() > 0) {
+            tableVersions.bump(TableVersions.TRAINEES, TableVersions.BATCHES);
+        }
+        log.info("Imported {} of {} trainee rows ({} errors)",
+                result.getImported(), result.getTotalRows(), result.getErrorCount());
+        return result;
+    }
+
+    private Map<String, Integer> readHeader(List<String> header) {
+        if (header == null) {
+            throw new InvalidImportException("CSV file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").replace("_", "").toLowerCase(Locale.ROOT);
+            columns.put(name, i);
+        }
+        for (String required : List.of("name", "email", "phone")) {
+            if (!columns.containsKey(required)) {
+                throw new InvalidImportException("CSV header is missing the '" + required + "' column");
+            }
+        }
+        return columns;
+    }
+
+    private ImportRow parseRow(long line, List<String> record, Map<String, Integer> columns,
+                               TraineeImportResult result) {
+        String name = column(record, columns, "name");
+        String email = column(record, columns, "email");
+        String phone = column(record, columns, "phone");
+        String batchId = column(record, columns, "batchid");
+
+        if (name.isEmpty()) {
+            result.addError(line, email, "name is required");
+            return null;
+        }
+        if (email.isEmpty() || !email.contains("@")) {
+            result.addError(line, email, "email is invalid");
+            return null;
+        }
+        if (phone.isEmpty()) {
+            result.addError(line, email, "phone is required");
+            return null;
+        }
+        Long parsedBatchId = null;
+        if (!batchId.isEmpty()) {
+            try {
+                parsedBatchId = Long.parseLong(batchId);
+            } catch (NumberFormatException e) {
+                result.addError(line, email, "batchId must be a number");
+                return null;
+            }
+        }
+        return new ImportRow(line, name, email, phone, parsedBatchId);
+    }
+
+    private String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index != null && index < record.size() ? record.get(index) : "";
+    }
+
+    private void writeChunk(List<ImportRow> chunk, Map<Long, Optional<Batch>> batches, TraineeImportResult result) {
+        // Unique email check for the whole chunk in one query
+        Set<String> existing = traineeRepository.findExistingEmails(
+                        chunk.stream().map(ImportRow::email).toList()).stream()
+                .map(e -> e.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+
+        // Batches are resolved once per import, not once per row
+        Set<Long> unresolved = chunk.stream()
+                .map(ImportRow::batchId)
+                .filter(id -> id != null && !batches.containsKey(id))
+                .collect(Collectors.toSet());
+        if (!unresolved.isEmpty()) {
+            batchRepository.findAllById(unresolved).forEach(b -> batches.put(b.getId(), Optional.of(b)));
+            unresolved.forEach(id -> batches.putIfAbsent(id, Optional.empty()));
+        }
+
+        List<ImportRow> candidates = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (existing.contains(row.email().toLowerCase(Locale.ROOT))) {
+                result.addError(row.line(), row.email(), "email already exists");
+            } else if (row.batchId() != null && batches.get(row.batchId()).isEmpty()) {
+                result.addError(row.line(), row.email(), "batch " + row.batchId() + " not found");
+            } else {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        try {
+            insert(candidates, batches, result);
+        } catch (DataAccessException e) {
+            // e.g. a concurrent enrollment took one of the emails; the chunk was rolled back, so retry it
+            // row by row and report only the rows that fail on their own
+            log.warn("Trainee import chunk of {} rows rejected, retrying row by row", candidates.size(), e);
+            for (ImportRow row : candidates) {
+                try {
+                    insert(List.of(row), batches, result);
+                } catch (DuplicateKeyException rowFailure) {
+                    result.addError(row.line(), row.email(), "email already exists");
+                } catch (DataAccessException rowFailure) {
+                    result.addError(row.line(), row.email(), rowFailure.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    // Row errors and index updates from the transaction only count once it has committed
+    private void insert(List<ImportRow> rows, Map<Long, Optional<Batch>> batches, TraineeImportResult result) {
+        List<TraineeImportResult.RowError> errors = new ArrayList<>();
+        List<SearchIndexService.Document> imported =
+                transactionTemplate.execute(status -> insertChunk(rows, batches, errors));
+        errors.forEach(error -> result.addError(error.getLine(), error.getEmail(), error.getMessage()));
+        result.setImported(result.getImported() + imported.size());
+        searchIndex.putAll(imported);
+    }
+
+    private List<SearchIndexService.Document> insertChunk(List<ImportRow> candidates, Map<Long, Optional<Batch>> batches,
+                                                          List<TraineeImportResult.RowError> errors) {
+        // Lock the affected batches so seats are handed out exactly up to capacity
+        Set<Long> batchIds = candidates.stream()
+                .map(ImportRow::batchId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Integer> freeSeats = new HashMap<>();
+        if (!batchIds.isEmpty()) {
+            jdbcTemplate.query(LOCK_BATCHES, new MapSqlParameterSource("ids", batchIds), rs -> {
+                int max = rs.getObject("max_capacity") != null ? rs.getInt("max_capacity") : Integer.MAX_VALUE;
+                freeSeats.put(rs.getLong("id"), Math.max(0, max - rs.getInt("enrolled_count")));
+            });
+        }
+
+        List<ImportRow> accepted = new ArrayList<>(candidates.size());
+        Map<Long, Integer> deltas = new HashMap<>();
+        for (ImportRow row : candidates) {
+            if (row.batchId() != null) {
+                int free = freeSeats.getOrDefault(row.batchId(), 0);
+                if (free == 0) {
+                    errors.add(new TraineeImportResult.RowError(row.line(), row.email(), "batch " + row.batchId() + " is full"));
+                    continue;
+                }
+                freeSeats.put(row.batchId(), free - 1);
+                deltas.merge(row.batchId(), 1, Integer::sum);
+            }
+            accepted.add(row);
+        }
+
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_TRAINEE, accepted, accepted.size(), (ps, row) -> {
+            Batch batch = row.batchId() != null ? batches.get(row.batchId()).orElse(null) : null;
+            ps.setString(1, row.name());
+            ps.setString(2, row.email());
+            ps.setString(3, row.phone());
+            ps.setObject(4, row.batchId());
+            ps.setString(5, batch != null ? batch.getCourseName() : null);
+            ps.setString(6, batch != null ? batch.getLocation() : null);
+        });
+        List<Map.Entry<Long, Integer>> increments = new ArrayList<>(deltas.entrySet());
+        jdbcTemplate.getJdbcTemplate().batchUpdate(ADD_ENROLLED, increments, increments.size(), (ps, delta) -> {
+            ps.setInt(1, delta.getValue());
+            ps.setLong(2, delta.getKey());
+        });
+
+        // Generated ids are read back by the unique email to add the rows to the search index
+        List<String> emails = accepted.stream().map(ImportRow::email).toList();
+        if (emails.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SELECT_IMPORTED, new MapSqlParameterSource("emails", emails),
+                (rs, rowNum) -> SearchIndexService.document(new Trainee(rs.getLong("id"), rs.getString("name"),
+                        rs.getString("email"), rs.getString("phone"), null, null, null)));
+    }
+
+    private record ImportRow(long line, String name, String email, String phone, Long batchId) {
+    }
+}
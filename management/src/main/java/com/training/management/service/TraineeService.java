@@ -1,66 +1,171 @@
 package com.training.management.service;
 
-import com.training.management.model.Batch;
+import com.training.management.dto.BatchSummary;
+import com.training.management.dto.TraineeSummary;
+import com.training.management.event.TraineeRenamedEvent;
+import com.training.management.exception.BatchFullException;
 import com.training.management.model.Trainee;
 import com.training.management.repository.BatchRepository;
+import com.training.management.repository.FieldProjectionRepository;
 import com.training.management.repository.TraineeRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TraineeService {
 
     private final TraineeRepository traineeRepository;
+    private final FieldProjectionRepository fieldProjectionRepository;
     private final BatchRepository batchRepository;
+    private final BatchService batchService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TableVersions tableVersions;
+    private final SearchIndexService searchIndex;
 
     public List<Trainee> getAllTrainees() {
         return traineeRepository.findAll();
     }
 
+    public List<Trainee> getTraineesAfter(Long after, Limit limit) {
+        return traineeRepository.findByIdGreaterThanOrderByIdAsc(after, limit);
+    }
+
+    public List<Map<String, Object>> getTraineeFields(List<String> fields, long after, Limit limit) {
+        return fieldProjectionRepository.findFields(Trainee.class, fields, after, limit);
+    }
+
+    public Stream<Trainee> streamAllTrainees() {
+        return traineeRepository.streamAll();
+    }
+
     public Optional<Trainee> getTraineeById(Long id) {
         return traineeRepository.findById(id);
     }
 
+    // Cached copy for name lookups on write paths
+    @Cacheable(cacheNames = "trainees", unless = "#result == null")
+    public Optional<TraineeSummary> getCachedTrainee(Long id) {
+        return traineeRepository.findById(id).map(TraineeSummary::of);
+    }
+
+    @Transactional
     public Trainee enrollTrainee(Trainee trainee) {
         // Get batch details and update trainee
         if (trainee.getBatchId() != null) {
-            Optional<Batch> batch = batchRepository.findById(trainee.getBatchId());
+            Optional<BatchSummary> batch = batchService.getCachedBatch(trainee.getBatchId());
             if (batch.isPresent()) {
-                Batch b = batch.get();
-                trainee.setBatchName(b.getCourseName());
-                trainee.setLocation(b.getLocation());
+                BatchSummary b = batch.get();
+                trainee.setBatchName(b.courseName());
+                trainee.setLocation(b.location());
 
-                // Update batch enrolled count
-                b.setEnrolledCount(b.getEnrolledCount() + 1);
-                batchRepository.save(b);
+                // Claim a seat atomically; rolled back if the trainee insert fails
+                if (batchRepository.incrementEnrolledCount(b.id()) == 0) {
+                    throw new BatchFullException(b.id());
+                }
             }
         }
 
-        return traineeRepository.save(trainee);
+        Trainee saved = traineeRepository.save(trainee);
+        searchIndex.put(null, SearchIndexService.document(saved));
+        tableVersions.bump(TableVersions.TRAINEES, TableVersions.BATCHES);
+        return saved;
     }
 
     public List<Trainee> getTraineesByBatch(Long batchId) {
         return traineeRepository.findByBatchId(batchId);
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = "trainees", key = "#id")
     public void deleteTrainee(Long id) {
+        traineeRepository.findById(id).ifPresent(trainee -> {
+            searchIndex.remove(SearchIndexService.document(trainee));
+            if (trainee.getBatchId() != null) {
+                batchRepository.decrementEnrolledCount(trainee.getBatchId());
+            }
+        });
         traineeRepository.deleteById(id);
+        tableVersions.bump(TableVersions.TRAINEES, TableVersions.BATCHES);
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = "trainees", key = "#trainee.id")
     public Trainee updateTrainee(Trainee trainee) {
+        Optional<Trainee> existing = traineeRepository.findById(trainee.getId());
+        boolean renamed = existing
+                .map(current -> !Objects.equals(current.getName(), trainee.getName()))
+                .orElse(false);
+        // Captured before the new values are copied into the managed instance
+        SearchIndexService.Document previous = existing.map(SearchIndexService::document).orElse(null);
+        Long previousBatchId = existing.map(Trainee::getBatchId).orElse(null);
+
         // Get batch details and update trainee
+        Long claimedBatchId = null;
         if (trainee.getBatchId() != null) {
-            Optional<Batch> batch = batchRepository.findById(trainee.getBatchId());
+            Optional<BatchSummary> batch = batchService.getCachedBatch(trainee.getBatchId());
             if (batch.isPresent()) {
-                Batch b = batch.get();
-                trainee.setBatchName(b.getCourseName());
-                trainee.setLocation(b.getLocation());
+                BatchSummary b = batch.get();
+                trainee.setBatchName(b.courseName());
+                trainee.setLocation(b.location());
+                claimedBatchId = b.id();
             }
         }
-        return traineeRepository.save(trainee);
+        boolean moved = existing.isPresent() && !Objects.equals(previousBatchId, trainee.getBatchId());
+        if (moved) {
+            moveSeat(previousBatchId, claimedBatchId);
+        }
+        // Edits the managed instance, so the request's empty batch association is never merged over it
+        Trainee saved = existing
+                .map(current -> {
+                    copyEditableFields(trainee, current);
+                    return current;
+                })
+                .orElseGet(() -> traineeRepository.save(trainee));
+        searchIndex.put(previous, SearchIndexService.document(saved));
+        tableVersions.bump(TableVersions.TRAINEES);
+        if (moved) {
+            tableVersions.bump(TableVersions.BATCHES);
+        }
+        if (renamed) {
+            eventPublisher.publishEvent(new TraineeRenamedEvent(saved.getId()));
+        }
+        return saved;
+    }
+
+    // Column values only; the batch association is a read-only view of batch_id
+    private static void copyEditableFields(Trainee from, Trainee to) {
+        to.setName(from.getName());
+        to.setEmail(from.getEmail());
+        to.setPhone(from.getPhone());
+        to.setBatchId(from.getBatchId());
+        to.setBatchName(from.getBatchName());
+        to.setLocation(from.getLocation());
+    }
+
+    // Claims a seat in the new batch and frees the old one, locking the two rows in id order so opposite
+    // moves cannot deadlock. A full target batch throws and rolls back the release.
+    private void moveSeat(Long from, Long to) {
+        boolean releaseFirst = from != null && (to == null || from < to);
+        if (releaseFirst) {
+            batchRepository.decrementEnrolledCount(from);
+        }
+        if (to != null && batchRepository.incrementEnrolledCount(to) == 0) {
+            throw new BatchFullException(to);
+        }
+        if (from != null && !releaseFirst) {
+            batchRepository.decrementEnrolledCount(from);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,398 @@
+package com.training.management.service;
+
+import com.training.management.dto.BatchScheduleView;
+import com.training.management.exception.ScheduleConflictException;
+import com.training.management.model.Trainer;
+import com.training.management.repository.BatchRepository;
+import com.training.management.repository.TrainerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of the date ranges each trainer is booked for, used to list trainers free for a
+ * period and to reject double bookings. A trainer's batches are merged into disjoint ranges keyed by
+ * start date, so an overlap check is a single floor lookup. Like {@link TableVersions}, the index
+ * lives in this JVM and relies on every batch write going through this instance.
+ *
+ * Dates a batch gives up (moved, reassigned or deleted) stay held until its transaction commits, so a
+ * rollback only has to put that batch's booking back and never overwrites bookings made meanwhile.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrainerScheduleService {
+
+    private final TrainerRepository trainerRepository;
+    private final BatchRepository batchRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, TrainerSchedule> schedules = new HashMap<>();
+    private final Map<String, Set<Long>> trainersByLocation = new HashMap<>();
+    private final Map<Long, Booking> bookings = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Trainer> trainers = trainerRepository.findAll();
+        List<BatchScheduleView> batches = batchRepository.findAllTrainerSchedules();
+
+        lock.writeLock().lock();
+        try {
+            schedules.clear();
+            trainersByLocation.clear();
+            bookings.clear();
+            trainers.forEach(this::putTrainer);
+            for (BatchScheduleView batch : batches) {
+                Booking booking = new Booking(batch.getId(), batch.getTrainerId(), batch.getStartDate(), batch.getEndDate());
+                bookings.put(booking.batchId(), booking);
+                schedule(booking.trainerId()).bookings.put(booking.batchId(), booking);
+            }
+            // One sort-and-merge per trainer rather than a merge per batch
+            schedules.values().forEach(TrainerSchedule::reindex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Trainer schedule index loaded: {} trainers, {} batches", trainers.size(), batches.size());
+    }
+
+    // Trainers in the location (any location when null) available by `from` with no batch overlapping [from, to]
+    public List<Long> findFreeTrainers(String location, LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            Collection<Long> candidates = location != null
+                    ? trainersByLocation.getOrDefault(location, Set.of())
+                    : schedules.keySet();
+            return candidates.stream()
+                    .filter(id -> schedules.get(id).isFree(from, to))
+                    .sorted()
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<Long> findConflict(Long trainerId, LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            TrainerSchedule schedule = schedules.get(trainerId);
+            return schedule != null ? schedule.findConflict(from, to, null) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Batch the trainer should show as assigned to: the one starting last
+    public Optional<Long> findLatestBatch(Long trainerId) {
+        lock.readLock().lock();
+        try {
+            TrainerSchedule schedule = schedules.get(trainerId);
+            return schedule != null ? schedule.latestBatch() : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Books the saved batch's dates for its trainer, replacing any earlier booking of the same batch, or
+     * throws {@link ScheduleConflictException} if the trainer already teaches another batch in that
+     * range. Called inside the batch write transaction after the save; trainer and dates are read from
+     * the persisted row, and the booking is undone if the transaction rolls back.
+     */
+    public void assign(Long batchId) {
+        Booking booking = batchRepository.findById(batchId)
+                .filter(batch -> batch.getTrainerId() != null)
+                .map(batch -> new Booking(batch.getId(), batch.getTrainerId(), batch.getStartDate(), batch.getEndDate()))
+                .orElse(null);
+        Booking previous;
+        lock.writeLock().lock();
+        try {
+            if (booking != null && booking.isDated()) {
+                Optional<Long> conflict = schedule(booking.trainerId())
+                        .findConflict(booking.start(), booking.end(), batchId);
+                if (conflict.isPresent()) {
+                    throw new ScheduleConflictException(booking.trainerId(), conflict.get());
+                }
+            }
+            previous = hold(batchId);
+            if (booking != null) {
+                putBooking(booking);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        settleOnCompletion(batchId, previous, booking);
+    }
+
+    public void release(Long batchId) {
+        Booking previous;
+        lock.writeLock().lock();
+        try {
+            previous = hold(batchId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        settleOnCompletion(batchId, previous, null);
+    }
+
+    public void trainerSaved(Trainer trainer) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                putTrainer(trainer);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void trainerDeleted(Long trainerId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                TrainerSchedule schedule = schedules.get(trainerId);
+                if (schedule != null) {
+                    unindexLocation(trainerId, schedule);
+                    schedule.location = null;
+                    if (schedule.bookings.isEmpty() && schedule.held.isEmpty()) {
+                        schedules.remove(trainerId);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // On commit the held dates are freed; on rollback the new booking goes and the held one is current again.
+    // Either way only this batch's entries, and so only its trainers' intervals, are touched.
+    private void settleOnCompletion(Long batchId, Booking previous, Booking booking) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.writeLock().lock();
+            try {
+                dropHold(batchId, previous);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.writeLock().lock();
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        dropHold(batchId, previous);
+                    } else {
+                        if (booking != null && bookings.remove(batchId, booking)) {
+                            TrainerSchedule schedule = schedules.get(booking.trainerId());
+                            schedule.bookings.remove(batchId);
+                            schedule.reindex();
+                        }
+                        restoreHold(batchId, previous);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void putTrainer(Trainer trainer) {
+        TrainerSchedule schedule = schedule(trainer.getId());
+        unindexLocation(trainer.getId(), schedule);
+        schedule.location = trainer.getLocation();
+        schedule.availableFrom = trainer.getAvailableDate();
+        if (schedule.location != null) {
+            trainersByLocation.computeIfAbsent(schedule.location, k -> new TreeSet<>()).add(trainer.getId());
+        }
+    }
+
+    private void unindexLocation(Long trainerId, TrainerSchedule schedule) {
+        if (schedule.location == null) {
+            return;
+        }
+        Set<Long> trainers = trainersByLocation.get(schedule.location);
+        if (trainers != null) {
+            trainers.remove(trainerId);
+            if (trainers.isEmpty()) {
+                trainersByLocation.remove(schedule.location);
+            }
+        }
+    }
+
+    private void putBooking(Booking booking) {
+        bookings.put(booking.batchId(), booking);
+        TrainerSchedule schedule = schedule(booking.trainerId());
+        schedule.bookings.put(booking.batchId(), booking);
+        schedule.occupy(booking);
+    }
+
+    // Moves the batch's current booking to held, where its dates stay busy. Returns it, or null when there
+    // was none or an earlier uncommitted change of the same batch already holds its committed booking.
+    private Booking hold(Long batchId) {
+        Booking booking = bookings.remove(batchId);
+        if (booking == null) {
+            return null;
+        }
+        TrainerSchedule schedule = schedules.get(booking.trainerId());
+        schedule.bookings.remove(batchId);
+        if (schedule.held.putIfAbsent(batchId, booking) != null) {
+            schedule.reindex();
+            return null;
+        }
+        return booking;
+    }
+
+    private void dropHold(Long batchId, Booking held) {
+        if (held != null && schedules.get(held.trainerId()).held.remove(batchId, held)) {
+            schedules.get(held.trainerId()).reindex();
+        }
+    }
+
+    // Held dates never left the busy intervals, so no reindex is needed
+    private void restoreHold(Long batchId, Booking held) {
+        if (held != null && schedules.get(held.trainerId()).held.remove(batchId, held)) {
+            bookings.put(batchId, held);
+            schedules.get(held.trainerId()).bookings.put(batchId, held);
+        }
+    }
+
+    // Batches may reference trainers the index has not seen (or that were deleted); those never show as free
+    private TrainerSchedule schedule(Long trainerId) {
+        return schedules.computeIfAbsent(trainerId, id -> new TrainerSchedule());
+    }
+
+    private record Booking(Long batchId, Long trainerId, LocalDate start, LocalDate end) {
+
+        // Batches without both dates are assigned but block no dates
+        boolean isDated() {
+            return start != null && end != null;
+        }
+
+        boolean overlaps(LocalDate from, LocalDate to) {
+            return isDated() && !start.isAfter(to) && !end.isBefore(from);
+        }
+    }
+
+    private static final class TrainerSchedule {
+
+        private String location;
+        private LocalDate availableFrom;
+        private final Map<Long, Booking> bookings = new HashMap<>();
+        // Bookings given up by uncommitted changes, still blocking their dates
+        private final Map<Long, Booking> held = new HashMap<>();
+        // Booked and held ranges merged into disjoint intervals, start -> end
+        private final TreeMap<LocalDate, LocalDate> busy = new TreeMap<>();
+
+        boolean isFree(LocalDate from, LocalDate to) {
+            return location != null
+                    && (availableFrom == null || !availableFrom.isAfter(from))
+                    && !overlapsBusy(from, to);
+        }
+
+        // Bookings of excludedBatchId, current or held, are the batch being rebooked and never conflict
+        Optional<Long> findConflict(LocalDate from, LocalDate to, Long excludedBatchId) {
+            if (!overlapsBusy(from, to)) {
+                return Optional.empty();
+            }
+            // Only reached on a possible conflict: name the earliest overlapping batch
+            return Stream.concat(bookings.values().stream(), held.values().stream())
+                    .filter(booking -> !booking.batchId().equals(excludedBatchId))
+                    .filter(booking -> booking.overlaps(from, to))
+                    .min(Comparator.comparing(Booking::start))
+                    .map(Booking::batchId);
+        }
+
+        Optional<Long> latestBatch() {
+            return bookings.values().stream()
+                    .max(Comparator.comparing(Booking::start, Comparator.nullsFirst(Comparator.naturalOrder()))
+                            .thenComparing(Booking::batchId))
+                    .map(Booking::batchId);
+        }
+
+        // Intervals are disjoint, so only the last one starting on or before `to` can reach back to `from`
+        private boolean overlapsBusy(LocalDate from, LocalDate to) {
+            Map.Entry<LocalDate, LocalDate> candidate = busy.floorEntry(to);
+            return candidate != null && !candidate.getValue().isBefore(from);
+        }
+
+        // Adds one range, absorbing the intervals it overlaps
+        private void occupy(Booking booking) {
+            if (!booking.isDated()) {
+                return;
+            }
+            LocalDate start = booking.start();
+            LocalDate end = booking.end();
+            Map.Entry<LocalDate, LocalDate> before = busy.floorEntry(start);
+            if (before != null && !before.getValue().isBefore(start)) {
+                start = before.getKey();
+            }
+            Map.Entry<LocalDate, LocalDate> next = busy.ceilingEntry(start);
+            while (next != null && !next.getKey().isAfter(end)) {
+                if (next.getValue().isAfter(end)) {
+                    end = next.getValue();
+                }
+                busy.remove(next.getKey());
+                next = busy.higherEntry(next.getKey());
+            }
+            busy.put(start, end);
+        }
+
+        // Sort-and-merge of every booked and held range
+        private void reindex() {
+            busy.clear();
+            List<Booking> dated = Stream.concat(bookings.values().stream(), held.values().stream())
+                    .filter(Booking::isDated)
+                    .sorted(Comparator.comparing(Booking::start))
+                    .toList();
+            LocalDate start = null;
+            LocalDate end = null;
+            for (Booking booking : dated) {
+                if (start != null && !booking.start().isAfter(end)) {
+                    if (booking.end().isAfter(end)) {
+                        end = booking.end();
+                    }
+                    continue;
+                }
+                if (start != null) {
+                    busy.put(start, end);
+                }
+                start = booking.start();
+                end = booking.end();
+            }
+            if (start != null) {
+                busy.put(start, end);
+            }
+        }
+    }
+}
@@ -1,44 +1,116 @@
 package com.training.management.service;
 
+import com.training.management.dto.TrainerSummary;
+import com.training.management.event.TrainerRenamedEvent;
 import com.training.management.model.Trainer;
+import com.training.management.repository.FieldProjectionRepository;
 import com.training.management.repository.TrainerRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TrainerService {
 
     private final TrainerRepository trainerRepository;
+    private final FieldProjectionRepository fieldProjectionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TableVersions tableVersions;
+    private final TrainerScheduleService trainerScheduleService;
+    private final SearchIndexService searchIndex;
 
     public List<Trainer> getAllTrainers() {
         return trainerRepository.findAll();
     }
 
+    public List<Trainer> getTrainersAfter(Long after, Limit limit) {
+        return trainerRepository.findByIdGreaterThanOrderByIdAsc(after, limit);
+    }
+
+    public List<Map<String, Object>> getTrainerFields(List<String> fields, long after, Limit limit) {
+        return fieldProjectionRepository.findFields(Trainer.class, fields, after, limit);
+    }
+
+    public Stream<Trainer> streamAllTrainers() {
+        return trainerRepository.streamAll();
+    }
+
     public Optional<Trainer> getTrainerById(Long id) {
         return trainerRepository.findById(id);
     }
 
+    // Cached copy for name lookups on write paths
+    @Cacheable(cacheNames = "trainers", unless = "#result == null")
+    public Optional<TrainerSummary> getCachedTrainer(Long id) {
+        return trainerRepository.findById(id).map(TrainerSummary::of);
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = "trainers", key = "#trainer.id", condition = "#trainer.id != null")
     public Trainer addTrainerAvailability(Trainer trainer) {
-        return trainerRepository.save(trainer);
+        SearchIndexService.Document previous = trainer.getId() == null ? null
+                : trainerRepository.findById(trainer.getId()).map(SearchIndexService::document).orElse(null);
+        Trainer saved = trainerRepository.save(trainer);
+        searchIndex.put(previous, SearchIndexService.document(saved));
+        trainerScheduleService.trainerSaved(saved);
+        tableVersions.bump(TableVersions.TRAINERS);
+        return saved;
     }
 
     public List<Trainer> getAvailableTrainers() {
         return trainerRepository.findByAssignedFalse();
     }
 
+    // Trainers with no batch overlapping [from, to], answered from the in-memory schedule index
+    public List<Trainer> getAvailableTrainers(String location, LocalDate from, LocalDate to) {
+        List<Long> ids = trainerScheduleService.findFreeTrainers(location, from, to);
+        return trainerRepository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(Trainer::getId))
+                .toList();
+    }
+
     public List<Trainer> getTrainersByLocation(String location) {
         return trainerRepository.findByLocation(location);
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = "trainers", key = "#id")
     public void deleteTrainer(Long id) {
+        trainerRepository.findById(id).ifPresent(trainer -> searchIndex.remove(SearchIndexService.document(trainer)));
         trainerRepository.deleteById(id);
+        trainerScheduleService.trainerDeleted(id);
+        tableVersions.bump(TableVersions.TRAINERS);
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = "trainers", key = "#trainer.id")
     public Trainer updateTrainer(Trainer trainer) {
-        return trainerRepository.save(trainer);
+        Optional<Trainer> existing = trainerRepository.findById(trainer.getId());
+        boolean renamed = existing
+                .map(current -> !Objects.equals(current.getName(), trainer.getName()))
+                .orElse(false);
+        SearchIndexService.Document previous = existing.map(SearchIndexService::document).orElse(null);
+
+        Trainer saved = trainerRepository.save(trainer);
+        searchIndex.put(previous, SearchIndexService.document(saved));
+        trainerScheduleService.trainerSaved(saved);
+        tableVersions.bump(TableVersions.TRAINERS);
+        if (renamed) {
+            eventPublisher.publishEvent(new TrainerRenamedEvent(saved.getId()));
+        }
+        return saved;
     }
 }
\ No newline at end of file
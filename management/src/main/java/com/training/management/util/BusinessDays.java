@@ -0,0 +1,29 @@
+package com.training.management.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+public final class BusinessDays {
+
+    private BusinessDays() {
+    }
+
+    // Monday to Friday between the two dates, both inclusive; constant time regardless of range
+    public static long count(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            return 0;
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        long count = (days / 7) * 5;
+
+        DayOfWeek day = from.getDayOfWeek();
+        for (long i = 0; i < days % 7; i++) {
+            if (day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY) {
+                count++;
+            }
+            day = day.plus(1);
+        }
+        return count;
+    }
+}
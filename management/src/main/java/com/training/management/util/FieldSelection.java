@@ -0,0 +1,38 @@
+package com.training.management.util;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ResponseEntity;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// ?fields=name,email on list endpoints: only those columns are selected and serialized
+public final class FieldSelection {
+
+    public static final String ID = "id";
+
+    private FieldSelection() {
+    }
+
+    public static boolean isRequested(String fields) {
+        return fields != null && !fields.isBlank();
+    }
+
+    // The id always comes first: clients need it to address rows, and keyset paging continues from it
+    public static List<String> parse(String fields) {
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add(ID);
+        for (String field : fields.split(",")) {
+            if (!field.isBlank()) {
+                selected.add(field.trim());
+            }
+        }
+        return List.copyOf(selected);
+    }
+
+    public static ResponseEntity<List<Map<String, Object>>> page(List<Map<String, Object>> rows, Limit limit) {
+        return KeysetPaging.page(rows, limit, row -> (Long) row.get(ID));
+    }
+}
@@ -0,0 +1,41 @@
+package com.training.management.util;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+public final class KeysetPaging {
+
+    public static final String NEXT_AFTER_HEADER = "X-Next-After";
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private KeysetPaging() {
+    }
+
+    public static boolean isRequested(Long after, Integer limit) {
+        return after != null || limit != null;
+    }
+
+    public static long after(Long after) {
+        return after != null ? after : 0L;
+    }
+
+    public static Limit limit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return Limit.of(DEFAULT_LIMIT);
+        }
+        return Limit.of(Math.min(requested, MAX_LIMIT));
+    }
+
+    // A full page means there may be more rows; the client passes the header back as ?after=
+    public static <T> ResponseEntity<List<T>> page(List<T> rows, Limit limit, Function<T, Long> idOf) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!rows.isEmpty() && rows.size() == limit.max()) {
+            response.header(NEXT_AFTER_HEADER, String.valueOf(idOf.apply(rows.get(rows.size() - 1))));
+        }
+        return response.body(rows);
+    }
+}
@@ -0,0 +1,14 @@
+package com.training.management.util;
+
+import java.io.IOException;
+
+/**
+ * Row-at-a-time output for report exports. Values may be strings, numbers, {@link java.time.LocalDate}s or null.
+ */
+public interface TableWriter {
+
+    void writeRow(Object... values) throws IOException;
+
+    // Completes the document and flushes; the underlying stream is left open
+    void finish() throws IOException;
+}
@@ -0,0 +1,35 @@
+package com.training.management.config;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectionPoolPropertiesTests {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void poolSizeFollowsCoreCountUntilDatabaseShareIsReached() {
+        ConnectionPoolProperties properties = new ConnectionPoolProperties();
+        properties.setMaxDatabaseConnections(100);
+        properties.setReservedConnections(10);
+        properties.setInstances(3);
+
+        assertThat(properties.poolSize(4)).isEqualTo(9);
+        assertThat(properties.poolSize(32)).isEqualTo(30);
+    }
+
+    @Test
+    void rejectsBudgetThatCannotFundMinimumPool() {
+        ConnectionPoolProperties properties = new ConnectionPoolProperties();
+        properties.setMaxDatabaseConnections(20);
+        properties.setReservedConnections(15);
+        properties.setInstances(4);
+
+        assertThat(validator.validate(properties))
+                .extracting(v -> v.getPropertyPath().toString())
+                .containsExactly("budgetSufficient");
+    }
+}
@@ -0,0 +1,130 @@
+package com.training.management.config;
+
+import com.training.management.service.TableVersions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadReplicaRoutingTests {
+
+    private final DataSource primary = h2("primary_db");
+    private final TableVersions tableVersions = new TableVersions();
+    private ReplicaDataSource replicaDataSource;
+    private Duration lag = Duration.ZERO;
+    private String primaryPosition = "0-1-10";
+    private String replicaPosition = "0-1-10";
+
+    @AfterEach
+    void tearDown() {
+        replicaDataSource.close();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndWritesToThePrimary() {
+        TransactionTemplate transactions = transactions(List.of(h2("replica_db")));
+
+        assertThat(currentDatabase(transactions, true)).isEqualTo("replica_db");
+        assertThat(currentDatabase(transactions, false)).isEqualTo("primary_db");
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenNoReplicaIsHealthy() {
+        // IFEXISTS refuses to create the database, so every connection attempt fails
+        TransactionTemplate transactions = transactions(List.of(h2("missing_db;IFEXISTS=TRUE")));
+
+        assertThat(replicaDataSource.healthyReplicas()).isZero();
+        assertThat(currentDatabase(transactions, true)).isEqualTo("primary_db");
+    }
+
+    @Test
+    void readsRightAfterAWriteStayOnThePrimary() {
+        TransactionTemplate transactions = transactions(List.of(h2("replica_db")));
+
+        tableVersions.bump(TableVersions.TRAINEES);
+
+        assertThat(currentDatabase(transactions, true)).isEqualTo("primary_db");
+        try (TableVersions.ReadScope scope = TableVersions.readScope(TableVersions.TRAINEES, TableVersions.BATCHES)) {
+            assertThat(currentDatabase(transactions, true)).isEqualTo("primary_db");
+        }
+        // A write to one table does not pin reads of the others
+        try (TableVersions.ReadScope scope = TableVersions.readScope(TableVersions.BATCHES)) {
+            assertThat(currentDatabase(transactions, true)).isEqualTo("replica_db");
+        }
+    }
+
+    @Test
+    void replicasLaggingBeyondMaxLagAreSkipped() {
+        lag = Duration.ofSeconds(5);
+        TransactionTemplate transactions = transactions(List.of(h2("replica_db")));
+
+        assertThat(replicaDataSource.healthyReplicas()).isZero();
+        assertThat(currentDatabase(transactions, true)).isEqualTo("primary_db");
+
+        lag = Duration.ZERO;
+        replicaDataSource.checkHealth();
+        assertThat(currentDatabase(transactions, true)).isEqualTo("replica_db");
+    }
+
+    @Test
+    void replicasBehindThePrimaryPositionAreSkippedForTheRead() {
+        TransactionTemplate transactions = transactions(List.of(h2("replica_db")));
+
+        // Committed on the primary, possibly by another instance, and not yet applied on the replica
+        primaryPosition = "0-1-11";
+        assertThat(currentDatabase(transactions, true)).isEqualTo("primary_db");
+        // Still in rotation: only this read was too fresh for it
+        assertThat(replicaDataSource.healthyReplicas()).isOne();
+
+        replicaPosition = "0-1-11";
+        assertThat(currentDatabase(transactions, true)).isEqualTo("replica_db");
+    }
+
+    private TransactionTemplate transactions(List<DataSource> replicas) {
+        ReadReplicaProperties properties = new ReadReplicaProperties();
+        properties.setReadYourWritesWindow(Duration.ofMinutes(1));
+        // H2 has no replication status or GTIDs, so lag and positions are supplied by the test
+        replicaDataSource = new ReplicaDataSource(primary, replicas, tableVersions, properties) {
+            @Override
+            protected Duration replicationLag(Connection connection) {
+                return lag;
+            }
+
+            @Override
+            protected String primaryPosition(Connection connection) {
+                return primaryPosition;
+            }
+
+            @Override
+            protected boolean awaitPosition(Connection connection, String position, Duration timeout) {
+                return replicaPosition.equals(position);
+            }
+        };
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    private static String currentDatabase(TransactionTemplate transactions, boolean readOnly) {
+        transactions.setReadOnly(readOnly);
+        return transactions.execute(status -> {
+            DataSource dataSource = ((DataSourceTransactionManager) transactions.getTransactionManager()).getDataSource();
+            return new JdbcTemplate(dataSource).queryForObject("select database()", String.class).toLowerCase();
+        });
+    }
+
+    private static DataSource h2(String database) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
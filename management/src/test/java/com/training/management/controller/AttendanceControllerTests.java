@@ -0,0 +1,106 @@
+package com.training.management.controller;
+
+import com.training.management.model.Attendance;
+import com.training.management.service.AttendanceFeedService;
+import com.training.management.service.AttendanceService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AttendanceControllerTests {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 4, 7);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    @Autowired
+    private AttendanceFeedService attendanceFeedService;
+
+    @Test
+    void feedPushesCommittedChangesForItsBatchAndDateOnly() throws Exception {
+        int before = attendanceFeedService.getSubscriberCount();
+        MockHttpServletResponse response = mockMvc.perform(get("/api/attendance/feed")
+                        .param("batchId", "42")
+                        .param("date", DAY.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        assertThat(attendanceFeedService.getSubscriberCount()).isEqualTo(before + 1);
+
+        attendanceService.markAttendance(new Attendance(null, 7L, null, 43L, null, DAY, Attendance.AttendanceStatus.ABSENT));
+        Attendance marked = attendanceService.markAttendance(
+                new Attendance(null, 7L, null, 42L, null, DAY, Attendance.AttendanceStatus.PRESENT));
+        attendanceService.deleteAttendance(marked.getId());
+
+        awaitContent(response, "\"DELETED\"");
+        String stream = response.getContentAsString();
+        assertThat(stream).contains("event:attendance", "\"MARKED\"", "\"status\":\"PRESENT\"");
+        assertThat(stream).doesNotContain("ABSENT");
+    }
+
+    @Test
+    void checkInWithoutStatusIsRejected() throws Exception {
+        mockMvc.perform(post("/api/attendance/mark")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"traineeId\":7,\"batchId\":42,\"date\":\"2025-04-07\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void checkInWithoutTraineeBatchOrDateIsRejected() throws Exception {
+        for (String body : List.of(
+                "{\"batchId\":42,\"date\":\"2025-04-07\",\"status\":\"PRESENT\"}",
+                "{\"traineeId\":7,\"date\":\"2025-04-07\",\"status\":\"PRESENT\"}",
+                "{\"traineeId\":7,\"batchId\":42,\"status\":\"PRESENT\"}")) {
+            mockMvc.perform(post("/api/attendance/mark").contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void markingAnUnknownRecordIdIsNotFound() throws Exception {
+        mockMvc.perform(post("/api/attendance/mark")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":999999,\"traineeId\":7,\"batchId\":42,\"date\":\"2025-04-07\",\"status\":\"LATE\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void rosterWithIncompleteEntriesIsRejected() throws Exception {
+        mockMvc.perform(post("/api/attendance/mark/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"batchId":42,"date":"2025-04-07","entries":[
+                                  {"traineeId":7,"status":"PRESENT"},
+                                  {"traineeId":8}]}"""))
+                .andExpect(status().isBadRequest());
+        assertThat(attendanceService.getAttendanceByBatch(42L, false))
+                .noneMatch(a -> a.getTraineeId().equals(7L) && a.getDate().equals(DAY));
+    }
+
+    private void awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!response.getContentAsString().contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(response.getContentAsString()).contains(expected);
+    }
+}
@@ -0,0 +1,96 @@
+package com.training.management.controller;
+
+import com.training.management.model.Attendance;
+import com.training.management.repository.AttendanceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReportControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @BeforeEach
+    void setUp() {
+        attendanceRepository.deleteAll();
+        LocalDate day = LocalDate.of(2025, 2, 3);
+        attendanceRepository.save(new Attendance(null, 1L, "Rahul Verma", 1L, "Java, Full Stack", day, Attendance.AttendanceStatus.PRESENT));
+        attendanceRepository.save(new Attendance(null, 2L, "Pooja \"PG\" Gupta", 1L, "Java, Full Stack", day, Attendance.AttendanceStatus.LATE));
+        attendanceRepository.save(new Attendance(null, 1L, "Rahul Verma", 1L, "Java, Full Stack", day.plusMonths(1), Attendance.AttendanceStatus.ABSENT));
+    }
+
+    @Test
+    void attendanceExportsAsCsvForTheWindow() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/reports/export/attendance")
+                        .param("from", "2025-02-01").param("to", "2025-02-28"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"attendance-2025-02-01-to-2025-02-28.csv\""))
+                .andReturn();
+
+        String[] lines = new String(result.getResponse().getContentAsByteArray(), StandardCharsets.UTF_8)
+                .replace("\uFEFF", "").split("\r\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).isEqualTo("Date,Batch ID,Batch,Trainee ID,Trainee,Status,Record ID");
+        assertThat(lines[1]).startsWith("2025-02-03,1,\"Java, Full Stack\",1,Rahul Verma,PRESENT,");
+        assertThat(lines[2]).startsWith("2025-02-03,1,\"Java, Full Stack\",2,\"Pooja \"\"PG\"\" Gupta\",LATE,");
+    }
+
+    @Test
+    void attendanceExportsAsXlsx() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/reports/export/attendance")
+                        .param("from", "2025-02-01").param("to", "2025-03-31").param("format", "xlsx"))
+                .andReturn();
+        byte[] body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Map<String, String> parts = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(body))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                parts.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertThat(parts).containsKeys("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml",
+                "xl/_rels/workbook.xml.rels", "xl/styles.xml", "xl/worksheets/sheet1.xml");
+        String sheet = parts.get("xl/worksheets/sheet1.xml");
+        assertThat(sheet).contains("<row r=\"4\">").doesNotContain("<row r=\"5\">");
+        // 2025-02-03 as an Excel date serial
+        assertThat(sheet).contains("<c r=\"A2\" s=\"1\"><v>45691</v></c>");
+        assertThat(sheet).contains("Pooja &quot;PG&quot; Gupta");
+        assertThat(parts.get("xl/workbook.xml")).contains("<sheet name=\"attendance\" sheetId=\"1\" r:id=\"rId1\"/>");
+    }
+
+    @Test
+    void unknownReportsAndFormatsAreRejected() throws Exception {
+        mockMvc.perform(get("/api/reports/export/salaries")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/reports/export/attendance").param("format", "pdf")).andExpect(status().isBadRequest());
+    }
+}
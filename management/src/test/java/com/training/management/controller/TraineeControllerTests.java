@@ -0,0 +1,102 @@
+package com.training.management.controller;
+
+import com.training.management.model.Trainee;
+import com.training.management.repository.TraineeRepository;
+import com.training.management.util.KeysetPaging;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TraineeControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TraineeRepository traineeRepository;
+
+    private List<Trainee> trainees;
+
+    @BeforeEach
+    void setUp() {
+        traineeRepository.deleteAll();
+        trainees = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Trainee t = new Trainee();
+            t.setName("Trainee " + i);
+            t.setEmail("paging" + i + "@example.com");
+            t.setPhone("900000000" + i);
+            trainees.add(t);
+        }
+        trainees = traineeRepository.saveAll(trainees);
+    }
+
+    @Test
+    void listPagesByKeyset() throws Exception {
+        Long secondId = trainees.get(1).getId();
+
+        mockMvc.perform(get("/api/trainees").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().string(KeysetPaging.NEXT_AFTER_HEADER, secondId.toString()));
+
+        mockMvc.perform(get("/api/trainees").param("after", trainees.get(3).getId().toString()).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Trainee 4"))
+                .andExpect(header().doesNotExist(KeysetPaging.NEXT_AFTER_HEADER));
+    }
+
+    @Test
+    void listWithoutPagingParamsReturnsEverything() throws Exception {
+        mockMvc.perform(get("/api/trainees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5));
+    }
+
+    @Test
+    void fieldsSelectOnlyTheRequestedColumns() throws Exception {
+        mockMvc.perform(get("/api/trainees").param("fields", "name, email").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].length()").value(3))
+                .andExpect(jsonPath("$[0].id").value(trainees.get(0).getId()))
+                .andExpect(jsonPath("$[0].name").value("Trainee 0"))
+                .andExpect(jsonPath("$[0].email").value("paging0@example.com"))
+                .andExpect(jsonPath("$[0].phone").doesNotExist())
+                .andExpect(header().string(KeysetPaging.NEXT_AFTER_HEADER, trainees.get(1).getId().toString()));
+
+        mockMvc.perform(get("/api/trainees").param("fields", "name,batch"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("INVALID_FIELDS"))
+                .andExpect(jsonPath("$.allowedFields").isArray());
+    }
+
+    @Test
+    void listStreamsNdjsonWhenRequested() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/trainees").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines()).hasSize(5).allMatch(line -> line.startsWith("{\"id\":"));
+    }
+}
@@ -0,0 +1,123 @@
+package com.training.management.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.training.management.model.Batch;
+import com.training.management.model.Trainee;
+import com.training.management.repository.BatchRepository;
+import com.training.management.repository.TraineeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class WireFormatTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    @Autowired
+    private TraineeRepository traineeRepository;
+
+    private Batch batch;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        traineeRepository.deleteAll();
+        batchRepository.deleteAll();
+
+        batch = new Batch();
+        batch.setCourseName("Java Full Stack Development");
+        batch.setLocation("Mumbai");
+        batch.setStartDate(LocalDate.of(2025, 2, 1));
+        batchRepository.save(batch);
+
+        List<Trainee> trainees = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Trainee trainee = new Trainee();
+            trainee.setName("Trainee " + i);
+            trainee.setEmail("wire" + i + "@example.com");
+            trainee.setPhone("98000" + String.format("%05d", i));
+            trainee.setBatchId(batch.getId());
+            trainees.add(trainee);
+        }
+        traineeRepository.saveAll(trainees);
+    }
+
+    @Test
+    void cborIsNegotiatedWithItsOwnEtag() throws Exception {
+        HttpResponse<byte[]> json = get("/api/batches", "application/json", null);
+        HttpResponse<byte[]> cbor = get("/api/batches", "application/cbor", null);
+
+        assertThat(cbor.headers().firstValue("Content-Type")).hasValue("application/cbor");
+        JsonNode decoded = new CBORMapper().readTree(cbor.body());
+        assertThat(decoded.get(0).get("courseName").asText()).isEqualTo("Java Full Stack Development");
+        // Same Jackson configuration as JSON: ISO dates, not arrays
+        assertThat(decoded.get(0).get("startDate").asText()).isEqualTo("2025-02-01");
+        assertThat(new ObjectMapper().readTree(json.body()).get(0).get("startDate").asText()).isEqualTo("2025-02-01");
+
+        assertThat(cbor.headers().firstValue("ETag")).isNotEqualTo(json.headers().firstValue("ETag"));
+        // Tagged by the type actually sent, not by what the Accept header mentions
+        HttpResponse<byte[]> preferJson = get("/api/batches", "application/json, application/cbor;q=0.1", null);
+        assertThat(preferJson.headers().firstValue("Content-Type")).hasValue("application/json");
+        assertThat(preferJson.headers().firstValue("ETag")).isEqualTo(json.headers().firstValue("ETag"));
+        assertThat(get("/api/batches", null, null).headers().firstValue("Content-Type")).hasValue("application/json");
+    }
+
+    @Test
+    void largeResponsesAreGzippedWhenAccepted() throws Exception {
+        HttpResponse<byte[]> compressed = get("/api/trainees", "application/json", "gzip");
+        HttpResponse<byte[]> plain = get("/api/trainees", "application/json", null);
+
+        assertThat(compressed.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(plain.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(compressed.body().length).isLessThan(plain.body().length / 4);
+        assertThat(gunzip(compressed.body())).isEqualTo(plain.body());
+
+        // Including responses tagged for conditional GETs
+        HttpResponse<byte[]> tagged = get("/api/batches/" + batch.getId() + "/trainees", "application/json", "gzip");
+        assertThat(tagged.headers().firstValue("ETag")).isPresent();
+        assertThat(tagged.headers().firstValue("Content-Encoding")).hasValue("gzip");
+
+        HttpResponse<byte[]> small = get("/api/batches", "application/json", "gzip");
+        assertThat(small.headers().firstValue("Content-Encoding")).isEmpty();
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, String acceptEncoding) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (accept != null) {
+            request.header("Accept", accept);
+        }
+        if (acceptEncoding != null) {
+            request.header("Accept-Encoding", acceptEncoding);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.training.management.service;
+
+import com.training.management.dto.AttendanceTrendView;
+import com.training.management.model.Attendance;
+import com.training.management.model.Attendance.AttendanceStatus;
+import com.training.management.model.Batch;
+import com.training.management.repository.ArchivedAttendanceRepository;
+import com.training.management.repository.AttendanceDailyRollupRepository;
+import com.training.management.repository.AttendanceRepository;
+import com.training.management.repository.BatchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AttendanceArchiveServiceTests {
+
+    private static final LocalDate DAY = LocalDate.of(2022, 3, 14);
+    private static final LocalDate CUTOFF = LocalDate.of(2023, 1, 1);
+
+    @Autowired
+    private AttendanceArchiveService archiveService;
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    @Autowired
+    private AttendanceRollupService rollupService;
+
+    @Autowired
+    private ReportExportService reportExportService;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private ArchivedAttendanceRepository archivedAttendanceRepository;
+
+    @Autowired
+    private AttendanceDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    private Batch closed;
+    private Batch open;
+
+    @BeforeEach
+    void setUp() {
+        attendanceRepository.deleteAll();
+        archivedAttendanceRepository.deleteAll();
+        rollupRepository.deleteAll();
+        batchRepository.deleteAll();
+
+        closed = batchRepository.save(batch("Java Full Stack Development", LocalDate.of(2022, 6, 30)));
+        open = batchRepository.save(batch("DevOps Engineering", null));
+
+        attendanceService.markAll(List.of(
+                attendance(1L, closed, DAY, AttendanceStatus.PRESENT),
+                attendance(2L, closed, DAY, AttendanceStatus.LATE),
+                attendance(1L, closed, DAY.plusDays(1), AttendanceStatus.ABSENT),
+                attendance(3L, open, DAY, AttendanceStatus.PRESENT)));
+    }
+
+    @Test
+    void closedBatchesOlderThanTheCutoffMoveToTheArchive() {
+        assertThat(archiveService.archive(CUTOFF)).isEqualTo(3);
+
+        assertThat(attendanceRepository.findAll())
+                .extracting(Attendance::getBatchId)
+                .containsExactly(open.getId());
+        assertThat(archivedAttendanceRepository.findByBatchId(closed.getId())).hasSize(3);
+        assertThat(archiveService.archive(CUTOFF)).isZero();
+    }
+
+    @Test
+    void historyReadsExportsAndRollupsIncludeArchivedRows() throws Exception {
+        archiveService.archive(CUTOFF);
+
+        assertThat(attendanceService.getAttendanceByBatch(closed.getId(), false)).isEmpty();
+        assertThat(attendanceService.getAttendanceByBatch(closed.getId(), true)).hasSize(3);
+        assertThat(attendanceService.getAttendanceByTrainee(1L, true))
+                .extracting(Attendance::getStatus)
+                .containsExactlyInAnyOrder(AttendanceStatus.PRESENT, AttendanceStatus.ABSENT);
+        assertThat(attendanceService.getAttendanceByDate(DAY, false)).hasSize(1);
+        assertThat(attendanceService.getAttendanceByDate(DAY, true)).hasSize(3);
+
+        assertThat(attendanceService.getAllAttendanceFields(List.of("id", "date", "status"), true))
+                .hasSize(4)
+                .allSatisfy(row -> assertThat(row).containsOnlyKeys("id", "date", "status"));
+
+        ByteArrayOutputStream export = new ByteArrayOutputStream();
+        reportExportService.export(ReportExportService.Report.ATTENDANCE, ReportExportService.Format.CSV,
+                DAY.withDayOfMonth(1), DAY.plusDays(1), export);
+        assertThat(export.toString(StandardCharsets.UTF_8).lines()).hasSize(5);
+
+        rollupService.rebuild();
+        List<AttendanceTrendView> trends = rollupRepository.findAttendanceTrendsByBatchId(closed.getId());
+        assertThat(trends).hasSize(2);
+        assertThat(trends.get(0).getPresent()).isEqualTo(1);
+        assertThat(trends.get(0).getLate()).isEqualTo(1);
+        assertThat(trends.get(1).getAbsent()).isEqualTo(1);
+    }
+
+    private static Batch batch(String courseName, LocalDate endDate) {
+        Batch batch = new Batch();
+        batch.setCourseName(courseName);
+        batch.setLocation("Mumbai");
+        batch.setStartDate(LocalDate.of(2022, 1, 10));
+        batch.setEndDate(endDate);
+        return batch;
+    }
+
+    private static Attendance attendance(Long traineeId, Batch batch, LocalDate date, AttendanceStatus status) {
+        return new Attendance(null, traineeId, null, batch.getId(), null, date, status);
+    }
+}
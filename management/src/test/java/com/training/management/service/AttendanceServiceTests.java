@@ -0,0 +1,140 @@
+package com.training.management.service;
+
+import com.training.management.dto.BulkAttendanceRequest;
+import com.training.management.model.Attendance;
+import com.training.management.model.Batch;
+import com.training.management.model.Trainee;
+import com.training.management.repository.AttendanceRepository;
+import com.training.management.repository.BatchRepository;
+import com.training.management.repository.TraineeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AttendanceServiceTests {
+
+    private static final int ROSTER_SIZE = 40;
+    private static final int ROUNDS = 25;
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private TraineeRepository traineeRepository;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    private Batch batch;
+    private List<Trainee> trainees;
+
+    @BeforeEach
+    void setUp() {
+        attendanceRepository.deleteAll();
+        traineeRepository.deleteAll();
+        batchRepository.deleteAll();
+
+        Batch b = new Batch();
+        b.setCourseName("Java Full Stack Development");
+        b.setLocation("Mumbai");
+        batch = batchRepository.save(b);
+
+        trainees = new ArrayList<>();
+        for (int i = 0; i < ROSTER_SIZE; i++) {
+            Trainee t = new Trainee();
+            t.setName("Trainee " + i);
+            t.setEmail("trainee" + i + "@example.com");
+            t.setPhone("98765" + String.format("%05d", i));
+            t.setBatchId(batch.getId());
+            trainees.add(t);
+        }
+        trainees = traineeRepository.saveAll(trainees);
+    }
+
+    @Test
+    void markBulkAttendanceResolvesNamesForWholeRoster() {
+        List<Attendance> saved = attendanceService.markBulkAttendance(roster(LocalDate.of(2025, 2, 1)));
+
+        assertThat(saved).hasSize(ROSTER_SIZE);
+        assertThat(saved).allSatisfy(a -> {
+            assertThat(a.getId()).isNotNull();
+            assertThat(a.getBatchName()).isEqualTo("Java Full Stack Development");
+            assertThat(a.getTraineeName()).startsWith("Trainee ");
+        });
+        assertThat(attendanceRepository.findByBatchId(batch.getId())).hasSize(ROSTER_SIZE);
+    }
+
+    @Test
+    void repeatedMarkingUpdatesTheExistingRecord() {
+        LocalDate date = LocalDate.of(2025, 2, 1);
+        List<Attendance> first = attendanceService.markBulkAttendance(roster(date));
+
+        Attendance retry = new Attendance();
+        retry.setTraineeId(trainees.get(0).getId());
+        retry.setBatchId(batch.getId());
+        retry.setDate(date);
+        retry.setStatus(Attendance.AttendanceStatus.LATE);
+        Attendance saved = attendanceService.markAttendance(retry);
+        List<Attendance> resent = attendanceService.markBulkAttendance(roster(date));
+
+        assertThat(saved.getId()).isEqualTo(first.get(0).getId());
+        assertThat(saved.getStatus()).isEqualTo(Attendance.AttendanceStatus.LATE);
+        assertThat(resent).extracting(Attendance::getId)
+                .containsExactlyInAnyOrderElementsOf(first.stream().map(Attendance::getId).toList());
+        assertThat(attendanceRepository.count()).isEqualTo(ROSTER_SIZE);
+    }
+
+    @Test
+    void upsertedRowsShareThePooledIdRangesWithEntityInserts() {
+        List<Attendance> marked = attendanceService.markBulkAttendance(roster(LocalDate.of(2025, 2, 1)));
+        Attendance entity = new Attendance(null, trainees.get(0).getId(), null, batch.getId(), null,
+                LocalDate.of(2025, 2, 2), Attendance.AttendanceStatus.ABSENT);
+        Attendance inserted = attendanceRepository.save(entity);
+
+        List<Long> ids = marked.stream().map(Attendance::getId).sorted().toList();
+        // Ids from the generator's pools (other test contexts draw pools from the same sequence),
+        // not one whole sequence increment of 50 per row
+        assertThat(ids.get(ids.size() - 1) - ids.get(0)).isLessThan(ROSTER_SIZE + 2L * 50);
+        assertThat(ids).doesNotContain(inserted.getId());
+    }
+
+    // Throughput is compared in AttendanceBenchmark; this only checks both paths store every row
+    @Test
+    void perRowAndBulkMarkingStoreEveryRow() {
+        LocalDate start = LocalDate.of(2025, 2, 1);
+
+        for (int round = 0; round < ROUNDS; round++) {
+            for (Trainee t : trainees) {
+                Attendance a = new Attendance();
+                a.setTraineeId(t.getId());
+                a.setBatchId(batch.getId());
+                a.setDate(start.plusDays(round));
+                a.setStatus(Attendance.AttendanceStatus.PRESENT);
+                attendanceService.markAttendance(a);
+            }
+        }
+        for (int round = 0; round < ROUNDS; round++) {
+            attendanceService.markBulkAttendance(roster(start.plusDays(ROUNDS + round)));
+        }
+
+        assertThat(attendanceRepository.count()).isEqualTo(2L * ROUNDS * ROSTER_SIZE);
+    }
+
+    private BulkAttendanceRequest roster(LocalDate date) {
+        List<BulkAttendanceRequest.Entry> entries = trainees.stream()
+                .map(t -> new BulkAttendanceRequest.Entry(t.getId(), Attendance.AttendanceStatus.PRESENT))
+                .toList();
+        return new BulkAttendanceRequest(batch.getId(), date, entries);
+    }
+}
@@ -0,0 +1,132 @@
+package com.training.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.training.management.model.Attendance;
+import com.training.management.repository.AttendanceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class AttendanceWriteBehindServiceTests {
+
+    private static final long BATCH_ID = 9001L;
+    private static final LocalDate DAY = LocalDate.of(2025, 5, 5);
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TempDir
+    private Path journalDir;
+
+    @BeforeEach
+    void setUp() {
+        attendanceRepository.deleteAll(attendanceRepository.findByBatchId(BATCH_ID));
+    }
+
+    @Test
+    void queuedCheckInsAreFlushedAndJournalIsTruncated() throws Exception {
+        AttendanceWriteBehindService writeBehind = writeBehind();
+        writeBehind.start();
+        try {
+            for (long trainee = 1; trainee <= 3; trainee++) {
+                assertThat(writeBehind.enqueue(checkIn(trainee))).isTrue();
+            }
+            // Updates are never deferred
+            assertThat(writeBehind.enqueue(new Attendance(5L, 1L, null, BATCH_ID, null, DAY,
+                    Attendance.AttendanceStatus.LATE))).isFalse();
+            // Nor check-ins the database would reject after they were acknowledged
+            assertThat(writeBehind.enqueue(new Attendance(null, 4L, null, BATCH_ID, null, DAY, null))).isFalse();
+
+            // A synchronous write waits for them instead of overtaking them
+            assertThat(writeBehind.awaitFlushed()).isTrue();
+            assertThat(attendanceRepository.findByBatchId(BATCH_ID)).hasSize(3);
+        } finally {
+            writeBehind.stop();
+        }
+        assertThat(Files.readString(journalDir.resolve("attendance.checkpoint"))).isEqualTo("3");
+        assertThat(Files.size(journalDir.resolve("attendance.journal"))).isZero();
+    }
+
+    @Test
+    void journalEntriesPastCheckpointAreReplayedOnStart() throws Exception {
+        Files.writeString(journalDir.resolve("attendance.checkpoint"), "1");
+        Files.writeString(journalDir.resolve("attendance.journal"), """
+                {"seq":1,"traineeId":1,"batchId":9001,"date":"2025-05-05","status":"PRESENT"}
+                {"seq":2,"traineeId":2,"batchId":9001,"date":"2025-05-05","status":"ABSENT"}
+                {"seq":3,"traineeId":3,"batchId":9001,"date":"2025-05-05","sta""");
+
+        AttendanceWriteBehindService writeBehind = writeBehind();
+        writeBehind.start();
+        writeBehind.stop();
+
+        assertThat(attendanceRepository.findByBatchId(BATCH_ID))
+                .singleElement()
+                .satisfies(a -> {
+                    assertThat(a.getTraineeId()).isEqualTo(2L);
+                    assertThat(a.getStatus()).isEqualTo(Attendance.AttendanceStatus.ABSENT);
+                });
+    }
+
+    @Test
+    void checkInsFailingPastTheRetriesAreDeadLetteredAndTheRestSaved() throws Exception {
+        AttendanceService failing = mock(AttendanceService.class);
+        when(failing.markAll(anyList())).thenAnswer(invocation -> {
+            List<Attendance> records = invocation.getArgument(0);
+            if (records.stream().anyMatch(a -> a.getTraineeId() == 13L)) {
+                throw new TransientDataAccessResourceException("Lock wait timeout exceeded");
+            }
+            return attendanceService.markAll(records);
+        });
+        AttendanceWriteBehindService writeBehind = writeBehind(failing);
+        writeBehind.start();
+        try {
+            for (long trainee : new long[] {1, 13, 2}) {
+                assertThat(writeBehind.enqueue(checkIn(trainee))).isTrue();
+            }
+            assertThat(writeBehind.awaitFlushed()).isTrue();
+        } finally {
+            writeBehind.stop();
+        }
+
+        assertThat(attendanceRepository.findByBatchId(BATCH_ID))
+                .extracting(Attendance::getTraineeId).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(Files.readAllLines(journalDir.resolve("attendance.deadletter")))
+                .singleElement().asString().contains("\"traineeId\":13", "Lock wait timeout exceeded");
+        assertThat(Files.readString(journalDir.resolve("attendance.checkpoint"))).isEqualTo("3");
+    }
+
+    private AttendanceWriteBehindService writeBehind() {
+        return writeBehind(attendanceService);
+    }
+
+    private AttendanceWriteBehindService writeBehind(AttendanceService service) {
+        return new AttendanceWriteBehindService(service, objectMapper, new SimpleMeterRegistry(),
+                100, 2, Duration.ofMillis(50), false, 1, Duration.ofSeconds(10), journalDir);
+    }
+
+    private Attendance checkIn(long traineeId) {
+        return new Attendance(null, traineeId, null, BATCH_ID, null, DAY, Attendance.AttendanceStatus.PRESENT);
+    }
+}
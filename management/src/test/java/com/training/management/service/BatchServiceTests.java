@@ -0,0 +1,132 @@
+package com.training.management.service;
+
+import com.training.management.dto.BatchSummary;
+import com.training.management.metrics.SqlStatementCounter;
+import com.training.management.model.Attendance;
+import com.training.management.model.Batch;
+import com.training.management.model.Trainee;
+import com.training.management.model.Trainer;
+import com.training.management.repository.AttendanceRepository;
+import com.training.management.repository.BatchRepository;
+import com.training.management.repository.TraineeRepository;
+import com.training.management.repository.TrainerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BatchServiceTests {
+
+    @Autowired
+    private BatchService batchService;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    @Autowired
+    private TrainerRepository trainerRepository;
+
+    @Autowired
+    private TraineeRepository traineeRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Batch batch;
+
+    @BeforeEach
+    void setUp() {
+        Batch b = new Batch();
+        b.setCourseName("Python for Data Science");
+        b.setLocation("Delhi");
+        batch = batchRepository.save(b);
+    }
+
+    @Test
+    void cachedBatchIsServedFromCacheUntilUpdated() {
+        batchService.getCachedBatch(batch.getId());
+        // A detached value, never the managed entity of the transaction that loaded it
+        assertThat(cacheManager.getCache("batches").get(batch.getId()).get())
+                .isEqualTo(new BatchSummary(batch.getId(), "Python for Data Science", "Delhi"));
+
+        // A direct table change is invisible until the service evicts the entry
+        batchRepository.findById(batch.getId()).ifPresent(b -> {
+            b.setCourseName("Renamed outside the service");
+            batchRepository.save(b);
+        });
+        assertThat(batchService.getCachedBatch(batch.getId()).orElseThrow().courseName())
+                .isEqualTo("Python for Data Science");
+
+        batch.setCourseName("Python for Analysts");
+        batchService.updateBatch(batch);
+
+        assertThat(cacheManager.getCache("batches").get(batch.getId())).isNull();
+        assertThat(batchService.getCachedBatch(batch.getId()).orElseThrow().courseName())
+                .isEqualTo("Python for Analysts");
+    }
+
+    @Test
+    void cacheEntryIsEvictedOnlyOnceTheUpdateCommits() {
+        batchService.getCachedBatch(batch.getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            batch.setCourseName("Python for Analysts");
+            batchService.updateBatch(batch);
+            // A concurrent read now would still find the committed name, so the entry stays valid
+            assertThat(cacheManager.getCache("batches").get(batch.getId())).isNotNull();
+        });
+
+        assertThat(cacheManager.getCache("batches").get(batch.getId())).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchDetailsLoadInTwoStatements() {
+        Trainer trainer = new Trainer();
+        trainer.setName("Priya Sharma");
+        trainer.setLocation("Delhi");
+        trainer = trainerRepository.save(trainer);
+        batch.setTrainerId(trainer.getId());
+        batchRepository.save(batch);
+
+        LocalDate day = LocalDate.of(2025, 3, 3);
+        for (int i = 0; i < 12; i++) {
+            Trainee trainee = traineeRepository.save(new Trainee(null, "Trainee " + i, "details" + i + "@example.com",
+                    "9200000000", batch.getId(), batch.getCourseName(), batch.getLocation()));
+            for (int d = 0; d < 3; d++) {
+                attendanceRepository.save(new Attendance(null, trainee.getId(), trainee.getName(), batch.getId(),
+                        batch.getCourseName(), day.plusDays(d), Attendance.AttendanceStatus.values()[(i + d) % 3]));
+            }
+        }
+
+        sqlStatementCounter.start();
+        Map<String, Object> details = batchService.getBatchDetails(batch.getId()).orElseThrow();
+        long statements = sqlStatementCounter.stop();
+
+        assertThat(statements).isLessThanOrEqualTo(2);
+        assertThat(((Trainer) details.get("trainer")).getName()).isEqualTo("Priya Sharma");
+        assertThat((List<Map<String, Object>>) details.get("trainees")).hasSize(12);
+        assertThat((Map<String, Object>) details.get("attendanceSummary"))
+                .containsEntry("present", 12L)
+                .containsEntry("late", 12L)
+                .containsEntry("absent", 12L);
+    }
+}
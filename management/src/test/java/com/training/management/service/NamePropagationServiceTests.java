@@ -0,0 +1,165 @@
+package com.training.management.service;
+
+import com.training.management.model.ArchivedAttendance;
+import com.training.management.model.Attendance;
+import com.training.management.model.Batch;
+import com.training.management.model.Trainee;
+import com.training.management.model.Trainer;
+import com.training.management.repository.ArchivedAttendanceRepository;
+import com.training.management.repository.AttendanceRepository;
+import com.training.management.repository.BatchRepository;
+import com.training.management.repository.TraineeRepository;
+import com.training.management.repository.TrainerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A small chunk size makes every propagation span several statements
+@SpringBootTest(properties = "app.propagation.chunk-size=7")
+class NamePropagationServiceTests {
+
+    private static final int ROSTER_SIZE = 30;
+
+    @Autowired
+    private BatchService batchService;
+
+    @Autowired
+    private TrainerService trainerService;
+
+    @Autowired
+    private TraineeService traineeService;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private TraineeRepository traineeRepository;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    @Autowired
+    private TrainerRepository trainerRepository;
+
+    @Autowired
+    private ArchivedAttendanceRepository archivedAttendanceRepository;
+
+    // Archived rows keep their original ids; these stay clear of the sequence
+    private long nextArchiveId = 900_000_000L;
+
+    private Trainer trainer;
+    private Batch batch;
+    private List<Trainee> trainees;
+
+    @BeforeEach
+    void setUp() {
+        attendanceRepository.deleteAll();
+        archivedAttendanceRepository.deleteAll();
+        traineeRepository.deleteAll();
+        batchRepository.deleteAll();
+        trainerRepository.deleteAll();
+
+        Trainer tr = new Trainer();
+        tr.setName("Rajesh Kumar");
+        tr.setLocation("Mumbai");
+        trainer = trainerRepository.save(tr);
+
+        Batch b = new Batch();
+        b.setCourseName("Java Full Stack");
+        b.setLocation("Mumbai");
+        b.setTrainerId(trainer.getId());
+        b.setTrainerName(trainer.getName());
+        batch = batchRepository.save(b);
+
+        trainees = new ArrayList<>();
+        List<Attendance> attendance = new ArrayList<>();
+        for (int i = 0; i < ROSTER_SIZE; i++) {
+            Trainee t = new Trainee(null, "Trainee " + i, "propagate" + i + "@example.com",
+                    "9100000000", batch.getId(), batch.getCourseName(), batch.getLocation());
+            t = traineeRepository.save(t);
+            trainees.add(t);
+            attendance.add(new Attendance(null, t.getId(), t.getName(), batch.getId(), batch.getCourseName(),
+                    LocalDate.of(2025, 2, 3), Attendance.AttendanceStatus.PRESENT));
+        }
+        attendanceRepository.saveAll(attendance);
+    }
+
+    @Test
+    void batchRenameReachesTraineesAndAttendance() throws InterruptedException {
+        batch.setCourseName("Java Full Stack (Spring)");
+        batch.setLocation("Pune");
+        batchService.updateBatch(batch);
+
+        awaitTrue(() -> traineeRepository.findByBatchId(batch.getId()).stream()
+                        .allMatch(t -> t.getBatchName().equals("Java Full Stack (Spring)") && t.getLocation().equals("Pune"))
+                && attendanceRepository.findByBatchId(batch.getId()).stream()
+                        .allMatch(a -> a.getBatchName().equals("Java Full Stack (Spring)")));
+    }
+
+    @Test
+    void renamesReachArchivedAttendance() throws InterruptedException {
+        Trainee first = trainees.get(0);
+        List<ArchivedAttendance> archived = new ArrayList<>();
+        for (int day = 0; day < ROSTER_SIZE; day++) {
+            archived.add(archived(first, LocalDate.of(2024, 6, 3).plusDays(day)));
+        }
+        archivedAttendanceRepository.saveAll(archived);
+
+        batch.setCourseName("Java Full Stack (Spring)");
+        batchService.updateBatch(batch);
+        first.setName("Renamed Trainee");
+        traineeService.updateTrainee(first);
+
+        awaitTrue(() -> archivedAttendanceRepository.findAll().stream()
+                .filter(a -> a.getBatchId().equals(batch.getId()))
+                .allMatch(a -> a.getBatchName().equals("Java Full Stack (Spring)")
+                        && a.getTraineeName().equals("Renamed Trainee")));
+    }
+
+    @Test
+    void trainerAndTraineeRenamesReachTheirCopies() throws InterruptedException {
+        trainer.setName("Rajesh K.");
+        trainerService.updateTrainer(trainer);
+
+        Trainee first = trainees.get(0);
+        first.setName("Renamed Trainee");
+        traineeService.updateTrainee(first);
+
+        awaitTrue(() -> batchRepository.findById(batch.getId()).orElseThrow().getTrainerName().equals("Rajesh K.")
+                && attendanceRepository.findByTraineeId(first.getId()).stream()
+                        .allMatch(a -> a.getTraineeName().equals("Renamed Trainee")));
+        assertThat(attendanceRepository.findByBatchId(batch.getId()))
+                .filteredOn(a -> a.getTraineeName().equals("Renamed Trainee"))
+                .hasSize(1);
+    }
+
+    private ArchivedAttendance archived(Trainee trainee, LocalDate date) {
+        ArchivedAttendance record = new ArchivedAttendance();
+        record.setId(nextArchiveId++);
+        record.setTraineeId(trainee.getId());
+        record.setTraineeName(trainee.getName());
+        record.setBatchId(batch.getId());
+        record.setBatchName(batch.getCourseName());
+        record.setDate(date);
+        record.setStatus(Attendance.AttendanceStatus.PRESENT);
+        record.setArchivedAt(LocalDateTime.now());
+        return record;
+    }
+
+    private void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,168 @@
+package com.training.management.service;
+
+import com.training.management.model.Attendance;
+import com.training.management.model.Attendance.AttendanceStatus;
+import com.training.management.model.Batch;
+import com.training.management.model.Trainer;
+import com.training.management.repository.AttendanceDailyRollupRepository;
+import com.training.management.repository.AttendanceRepository;
+import com.training.management.repository.BatchRepository;
+import com.training.management.repository.TrainerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ReportServiceTests {
+
+    private static final LocalDate DAY_ONE = LocalDate.of(2025, 2, 1);
+    private static final LocalDate DAY_TWO = LocalDate.of(2025, 2, 2);
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    @Autowired
+    private AttendanceRollupService attendanceRollupService;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private AttendanceDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    @Autowired
+    private TrainerRepository trainerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        attendanceRepository.deleteAll();
+        rollupRepository.deleteAll();
+        mark(1L, 1L, DAY_ONE, AttendanceStatus.PRESENT);
+        mark(2L, 1L, DAY_ONE, AttendanceStatus.LATE);
+        mark(3L, 1L, DAY_ONE, AttendanceStatus.ABSENT);
+        mark(4L, 1L, DAY_ONE, AttendanceStatus.ABSENT);
+        mark(1L, 1L, DAY_TWO, AttendanceStatus.PRESENT);
+        mark(5L, 2L, DAY_TWO, AttendanceStatus.ABSENT);
+    }
+
+    @Test
+    void attendanceTrendsAreGroupedBySessionDate() {
+        List<Map<String, Object>> trends = reportService.getAttendanceTrends();
+
+        assertThat(trends).extracting(t -> t.get("session")).containsExactly("2025-02-01", "2025-02-02");
+        assertThat(trends.get(0)).containsEntry("present", 1L).containsEntry("late", 1L)
+                .containsEntry("absent", 2L).containsEntry("attendanceRate", 50L);
+        assertThat(trends.get(1)).containsEntry("attendanceRate", 50L);
+    }
+
+    @Test
+    void attendanceTrendsByBatchOnlyCountThatBatch() {
+        List<Map<String, Object>> trends = reportService.getAttendanceTrendsByBatch(1L);
+
+        assertThat(trends).hasSize(2);
+        assertThat(trends.get(1)).containsEntry("present", 1L).containsEntry("absent", 0L)
+                .containsEntry("attendanceRate", 100L);
+    }
+
+    @Test
+    void rollupFollowsUpdatesAndDeletes() {
+        Attendance absent = attendanceRepository.findByBatchId(2L).get(0);
+        absent.setStatus(AttendanceStatus.PRESENT);
+        attendanceService.markAttendance(absent);
+
+        assertThat(reportService.getAttendanceTrendsByBatch(2L).get(0))
+                .containsEntry("present", 1L).containsEntry("absent", 0L);
+
+        attendanceService.deleteAttendance(absent.getId());
+
+        assertThat(reportService.getAttendanceTrendsByBatch(2L)).isEmpty();
+    }
+
+    @Test
+    void rollupChangesCommitAndRollBackWithTheAttendanceWrite() {
+        transactionTemplate.executeWithoutResult(status -> {
+            mark(6L, 2L, DAY_TWO, AttendanceStatus.PRESENT);
+            // Visible inside the writing transaction, not after it
+            assertThat(reportService.getAttendanceTrendsByBatch(2L).get(0)).containsEntry("present", 1L);
+            status.setRollbackOnly();
+        });
+
+        assertThat(reportService.getAttendanceTrendsByBatch(2L).get(0))
+                .containsEntry("present", 0L).containsEntry("absent", 1L);
+    }
+
+    @Test
+    void rebuildRepairsDrift() {
+        rollupRepository.deleteAll();
+
+        attendanceRollupService.rebuild();
+
+        assertThat(reportService.getAttendanceTrends().get(0))
+                .containsEntry("present", 1L).containsEntry("late", 1L).containsEntry("absent", 2L);
+    }
+
+    @Test
+    void trainerOccupancyMergesOverlappingBatchesWithinWindow() {
+        trainerRepository.deleteAll();
+        Trainer busy = trainerRepository.save(trainer("Priya Sharma"));
+        Trainer idle = trainerRepository.save(trainer("Sneha Reddy"));
+        batchRepository.save(batch(busy.getId(), LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 4)));
+        batchRepository.save(batch(busy.getId(), LocalDate.of(2025, 2, 3), LocalDate.of(2025, 2, 14)));
+        batchRepository.save(batch(busy.getId(), LocalDate.of(2025, 2, 10), LocalDate.of(2025, 2, 21)));
+        batchRepository.save(batch(busy.getId(), LocalDate.of(2025, 4, 1), LocalDate.of(2025, 4, 30)));
+
+        List<Map<String, Object>> occupancy = reportService.getTrainerOccupancy(
+                LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28));
+
+        // February 2025 has 20 weekdays; Feb 1 to Feb 21 covers 15 of them
+        assertThat(occupancy).hasSize(2);
+        assertThat(occupancy.get(0)).containsEntry("trainerName", "Priya Sharma")
+                .containsEntry("availableDays", 20L).containsEntry("occupiedDays", 15L)
+                .containsEntry("occupancyRate", 75L);
+        assertThat(occupancy.get(1)).containsEntry("trainerName", "Sneha Reddy")
+                .containsEntry("trainerId", idle.getId()).containsEntry("occupiedDays", 0L);
+    }
+
+    private Trainer trainer(String name) {
+        Trainer trainer = new Trainer();
+        trainer.setName(name);
+        trainer.setLocation("Delhi");
+        return trainer;
+    }
+
+    private Batch batch(Long trainerId, LocalDate start, LocalDate end) {
+        Batch batch = new Batch();
+        batch.setCourseName("Course for trainer " + trainerId);
+        batch.setLocation("Delhi");
+        batch.setTrainerId(trainerId);
+        batch.setStartDate(start);
+        batch.setEndDate(end);
+        return batch;
+    }
+
+    private void mark(Long traineeId, Long batchId, LocalDate date, AttendanceStatus status) {
+        Attendance attendance = new Attendance();
+        attendance.setTraineeId(traineeId);
+        attendance.setBatchId(batchId);
+        attendance.setDate(date);
+        attendance.setStatus(status);
+        attendanceService.markAttendance(attendance);
+    }
+}
@@ -0,0 +1,156 @@
+package com.training.management.service;
+
+import com.training.management.model.Course;
+import com.training.management.model.Trainee;
+import com.training.management.model.Trainer;
+import com.training.management.repository.BatchRepository;
+import com.training.management.repository.CourseRepository;
+import com.training.management.repository.TraineeRepository;
+import com.training.management.repository.TrainerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SearchServiceTests {
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private SearchIndexService searchIndex;
+
+    @Autowired
+    private TraineeService traineeService;
+
+    @Autowired
+    private TrainerService trainerService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private TraineeImportService traineeImportService;
+
+    @Autowired
+    private TraineeRepository traineeRepository;
+
+    @Autowired
+    private TrainerRepository trainerRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    private Trainee rahul;
+
+    @BeforeEach
+    void setUp() {
+        traineeRepository.deleteAll();
+        trainerRepository.deleteAll();
+        courseRepository.deleteAll();
+        batchRepository.deleteAll();
+        searchIndex.rebuild();
+
+        rahul = traineeService.enrollTrainee(new Trainee(null, "Rahul Verma", "rahul.verma@example.com",
+                "9876543210", null, null, null));
+        traineeService.enrollTrainee(new Trainee(null, "Pooja Gupta", "pooja.g@example.com", "9123456780", null, null, null));
+
+        Trainer trainer = new Trainer();
+        trainer.setName("Priya Sharma");
+        trainer.setLocation("Delhi");
+        trainerService.addTrainerAvailability(trainer);
+
+        Course course = new Course();
+        course.setCourseName("Python for Data Science");
+        course.setDescription("Data analysis with pandas, taught by Rahul");
+        courseService.createCourse(course);
+    }
+
+    @Test
+    void prefixesMatchNamesEmailsAndPhones() {
+        assertThat(resultNames("ver")).containsExactly("Rahul Verma");
+        assertThat(resultNames("pooja.g@")).containsExactly("Pooja Gupta");
+        assertThat(resultNames("98765")).containsExactly("Rahul Verma");
+        assertThat(resultNames("sha")).containsExactly("Priya Sharma");
+        assertThat(resultNames("data sci")).containsExactly("Python for Data Science");
+    }
+
+    @Test
+    void nameMatchesRankAboveDescriptionMatches() {
+        Map<String, Object> response = searchService.search("rahul", 0, 10);
+
+        assertThat(response.get("total")).isEqualTo(2);
+        assertThat(resultNames("rahul")).containsExactly("Rahul Verma", "Python for Data Science");
+        assertThat(resultNames(searchService.search("rahul", 1, 10))).containsExactly("Python for Data Science");
+    }
+
+    @Test
+    void indexFollowsUpdatesDeletesAndImports() throws Exception {
+        rahul.setName("Rahul Mehta");
+        rahul.setEmail("rahul.mehta@example.com");
+        traineeService.updateTrainee(rahul);
+        assertThat(resultNames("verma")).isEmpty();
+        assertThat(resultNames("mehta")).containsExactly("Rahul Mehta");
+
+        traineeService.deleteTrainee(rahul.getId());
+        assertThat(resultNames("mehta")).isEmpty();
+
+        traineeImportService.importTrainees(new StringReader("""
+                name,email,phone
+                Neha Kapoor,neha.k@example.com,9988776655
+                """));
+        assertThat(resultNames("kap")).containsExactly("Neha Kapoor");
+    }
+
+    @Test
+    void shortPrefixesKeepTheirMostFrequentCompletionsAndSaySo() {
+        List<SearchIndexService.Document> documents = new ArrayList<>();
+        for (long i = 0; i < 300; i++) {
+            documents.add(new SearchIndexService.Document(SearchIndexService.Type.TRAINEE, 10_000 + i,
+                    List.of("zq" + i), List.of()));
+        }
+        // One completion found in several documents outranks the single-document ones
+        for (long i = 0; i < 5; i++) {
+            documents.add(new SearchIndexService.Document(SearchIndexService.Type.TRAINER, 20_000 + i,
+                    List.of("zqcommon"), List.of()));
+        }
+        searchIndex.putAll(documents);
+
+        SearchIndexService.Page page = searchIndex.search("zq", 0, 300);
+        assertThat(page.complete()).isFalse();
+        assertThat(page.total()).isEqualTo(5 + 255);
+        assertThat(page.hits()).extracting(SearchIndexService.Hit::id)
+                .contains(20_000L, 20_001L, 20_002L, 20_003L, 20_004L);
+
+        SearchIndexService.Page narrowed = searchIndex.search("zqc", 0, 2);
+        assertThat(narrowed.complete()).isTrue();
+        assertThat(narrowed.total()).isEqualTo(5);
+        assertThat(narrowed.hits()).extracting(SearchIndexService.Hit::id).containsExactly(20_000L, 20_001L);
+        assertThat(searchIndex.search("zqc", 4, 2).hits()).extracting(SearchIndexService.Hit::id).containsExactly(20_004L);
+    }
+
+    private List<String> resultNames(String query) {
+        return resultNames(searchService.search(query, 0, 10));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> resultNames(Map<String, Object> response) {
+        return ((List<Map<String, Object>>) response.get("results")).stream()
+                .map(result -> result.get("item"))
+                .map(item -> item instanceof Trainee trainee ? trainee.getName()
+                        : item instanceof Trainer trainer ? trainer.getName()
+                        : ((Course) item).getCourseName())
+                .toList();
+    }
+}
@@ -0,0 +1,128 @@
+package com.training.management.service;
+
+import com.training.management.dto.TraineeImportResult;
+import com.training.management.exception.InvalidImportException;
+import com.training.management.model.Batch;
+import com.training.management.model.Trainee;
+import com.training.management.repository.BatchRepository;
+import com.training.management.repository.TraineeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class TraineeImportServiceTests {
+
+    @Autowired
+    private TraineeImportService traineeImportService;
+
+    @Autowired
+    private TraineeRepository traineeRepository;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    private Batch batch;
+
+    @BeforeEach
+    void setUp() {
+        traineeRepository.deleteAll();
+        batchRepository.deleteAll();
+
+        Batch b = new Batch();
+        b.setCourseName("Data Engineering");
+        b.setLocation("Pune");
+        b.setMaxCapacity(3000);
+        batch = batchRepository.save(b);
+
+        Trainee existing = new Trainee();
+        existing.setName("Existing");
+        existing.setEmail("taken@example.com");
+        existing.setPhone("9000000000");
+        traineeRepository.save(existing);
+    }
+
+    @Test
+    void importsValidRowsAndReportsBadOnes() throws Exception {
+        String csv = """
+                Name,Email,Phone,batch_id
+                "Doe, Jane",jane@example.com,9000000001,%1$d
+                John,john@example.com,,%1$d
+                Copy,JANE@example.com,9000000002,%1$d
+                Taken,taken@example.com,9000000003,
+                Lost,lost@example.com,9000000004,999999
+                Free,free@example.com,9000000005,
+                """.formatted(batch.getId());
+
+        TraineeImportResult result = traineeImportService.importTrainees(new StringReader(csv));
+
+        assertThat(result.getTotalRows()).isEqualTo(6);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors())
+                .extracting(TraineeImportResult.RowError::getLine)
+                .containsExactlyInAnyOrder(3L, 4L, 5L, 6L);
+
+        Trainee jane = traineeRepository.findAll().stream()
+                .filter(t -> t.getEmail().equals("jane@example.com"))
+                .findFirst().orElseThrow();
+        assertThat(jane.getName()).isEqualTo("Doe, Jane");
+        assertThat(jane.getBatchName()).isEqualTo("Data Engineering");
+        assertThat(batchRepository.findById(batch.getId()).orElseThrow().getEnrolledCount()).isEqualTo(1);
+    }
+
+    @Test
+    void fillsBatchUpToCapacityAcrossChunks() throws Exception {
+        int rows = TraineeImportService.CHUNK_SIZE * 2 + 500;
+        int capacity = TraineeImportService.CHUNK_SIZE + 200;
+        batch.setMaxCapacity(capacity);
+        batchRepository.save(batch);
+
+        StringBuilder csv = new StringBuilder("name,email,phone,batchId\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("Trainee ").append(i).append(",trainee").append(i).append("@example.com,98")
+                    .append(String.format("%08d", i)).append(',').append(batch.getId()).append('\n');
+        }
+
+        TraineeImportResult result = traineeImportService.importTrainees(new StringReader(csv.toString()));
+
+        assertThat(result.getImported()).isEqualTo(capacity);
+        assertThat(result.getErrorCount()).isEqualTo(rows - capacity);
+        assertThat(traineeRepository.findByBatchId(batch.getId())).hasSize(capacity);
+        assertThat(batchRepository.findById(batch.getId()).orElseThrow().getEnrolledCount()).isEqualTo(capacity);
+    }
+
+    @Test
+    void rejectedChunkIsRetriedRowByRow() throws Exception {
+        batch.setMaxCapacity(1);
+        batchRepository.save(batch);
+        // Passes the file checks but not the name column, which fails the chunk's batch insert
+        String csv = """
+                name,email,phone,batchId
+                Asha,asha@example.com,9000000001,%1$d
+                Ravi,ravi@example.com,9000000002,%1$d
+                %2$s,long@example.com,9000000003,
+                Meera,meera@example.com,9000000004,
+                """.formatted(batch.getId(), "N".repeat(300));
+
+        TraineeImportResult result = traineeImportService.importTrainees(new StringReader(csv));
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors())
+                .extracting(TraineeImportResult.RowError::getLine)
+                .containsExactly(3L, 4L);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("batch " + batch.getId() + " is full");
+        assertThat(batchRepository.findById(batch.getId()).orElseThrow().getEnrolledCount()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsFileWithoutRequiredColumns() {
+        assertThatThrownBy(() -> traineeImportService.importTrainees(new StringReader("name,email\n")))
+                .isInstanceOf(InvalidImportException.class);
+    }
+}
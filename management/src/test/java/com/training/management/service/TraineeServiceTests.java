@@ -0,0 +1,165 @@
+package com.training.management.service;
+
+import com.training.management.exception.BatchFullException;
+import com.training.management.model.Batch;
+import com.training.management.model.Trainee;
+import com.training.management.repository.BatchRepository;
+import com.training.management.repository.TraineeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class TraineeServiceTests {
+
+    private static final int CAPACITY = 50;
+    private static final int CONTENDERS = 400;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private TraineeService traineeService;
+
+    @Autowired
+    private TraineeRepository traineeRepository;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    @Autowired
+    private BatchService batchService;
+
+    private Batch batch;
+
+    @BeforeEach
+    void setUp() {
+        traineeRepository.deleteAll();
+        batchRepository.deleteAll();
+
+        Batch b = new Batch();
+        b.setCourseName("DevOps Engineering");
+        b.setLocation("Chennai");
+        b.setMaxCapacity(CAPACITY);
+        batch = batchRepository.save(b);
+    }
+
+    @Test
+    void enrollmentIsRejectedOnceBatchIsFull() {
+        batch.setMaxCapacity(1);
+        batchRepository.save(batch);
+
+        traineeService.enrollTrainee(trainee(0));
+
+        assertThatThrownBy(() -> traineeService.enrollTrainee(trainee(1)))
+                .isInstanceOf(BatchFullException.class);
+        assertThat(traineeRepository.findByBatchId(batch.getId())).hasSize(1);
+    }
+
+    @Test
+    void concurrentEnrollmentNeitherLosesUpdatesNorOverbooks() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger enrolled = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < CONTENDERS; i++) {
+            Trainee trainee = trainee(i);
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    traineeService.enrollTrainee(trainee);
+                    enrolled.incrementAndGet();
+                } catch (BatchFullException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(enrolled.get()).isEqualTo(CAPACITY);
+        assertThat(rejected.get()).isEqualTo(CONTENDERS - CAPACITY);
+        assertThat(batchRepository.findById(batch.getId()).orElseThrow().getEnrolledCount()).isEqualTo(CAPACITY);
+        assertThat(traineeRepository.findByBatchId(batch.getId())).hasSize(CAPACITY);
+    }
+
+    @Test
+    void deletingATraineeFreesTheirSeat() {
+        batch.setMaxCapacity(1);
+        batchRepository.save(batch);
+        Trainee first = traineeService.enrollTrainee(trainee(0));
+
+        traineeService.deleteTrainee(first.getId());
+
+        assertThat(enrolledCount(batch)).isZero();
+        traineeService.enrollTrainee(trainee(1));
+        assertThat(enrolledCount(batch)).isEqualTo(1);
+    }
+
+    @Test
+    void movingATraineeTransfersTheSeatUnlessTheTargetIsFull() {
+        Batch other = new Batch();
+        other.setCourseName("Cloud Fundamentals");
+        other.setLocation("Pune");
+        other.setMaxCapacity(1);
+        other = batchRepository.save(other);
+        Trainee moving = traineeService.enrollTrainee(trainee(0));
+
+        moving.setBatchId(other.getId());
+        traineeService.updateTrainee(moving);
+
+        assertThat(enrolledCount(batch)).isZero();
+        assertThat(enrolledCount(other)).isEqualTo(1);
+
+        Trainee blocked = traineeService.enrollTrainee(trainee(1));
+        blocked.setBatchId(other.getId());
+        assertThatThrownBy(() -> traineeService.updateTrainee(blocked)).isInstanceOf(BatchFullException.class);
+        // Rolled back: the trainee keeps the seat they had
+        assertThat(enrolledCount(batch)).isEqualTo(1);
+        assertThat(enrolledCount(other)).isEqualTo(1);
+        assertThat(traineeRepository.findById(blocked.getId()).orElseThrow().getBatchId()).isEqualTo(batch.getId());
+    }
+
+    @Test
+    void editingABatchKeepsItsEnrolledCount() {
+        traineeService.enrollTrainee(trainee(0));
+        traineeService.enrollTrainee(trainee(1));
+
+        // The client's copy still carries the count from before the enrollments
+        batch.setLocation("Chennai OMR");
+        Batch updated = batchService.updateBatch(batch);
+
+        assertThat(updated.getEnrolledCount()).isEqualTo(2);
+        assertThat(enrolledCount(batch)).isEqualTo(2);
+    }
+
+    private int enrolledCount(Batch b) {
+        return batchRepository.findById(b.getId()).orElseThrow().getEnrolledCount();
+    }
+
+    private Trainee trainee(int i) {
+        Trainee t = new Trainee();
+        t.setName("Trainee " + i);
+        t.setEmail("enroll" + i + "@example.com");
+        t.setPhone("91" + String.format("%08d", i));
+        t.setBatchId(batch.getId());
+        return t;
+    }
+}
@@ -0,0 +1,175 @@
+package com.training.management.service;
+
+import com.training.management.exception.ScheduleConflictException;
+import com.training.management.model.Batch;
+import com.training.management.model.Trainer;
+import com.training.management.repository.BatchRepository;
+import com.training.management.repository.TrainerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class TrainerScheduleServiceTests {
+
+    private static final LocalDate FEB_1 = LocalDate.of(2025, 2, 1);
+    private static final LocalDate MAR_31 = LocalDate.of(2025, 3, 31);
+
+    @Autowired
+    private TrainerScheduleService trainerScheduleService;
+
+    @Autowired
+    private TrainerService trainerService;
+
+    @Autowired
+    private BatchService batchService;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    @Autowired
+    private TrainerRepository trainerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Trainer priya;
+    private Trainer amit;
+
+    @BeforeEach
+    void setUp() {
+        batchRepository.deleteAll();
+        trainerRepository.deleteAll();
+        trainerScheduleService.rebuild();
+
+        priya = trainerService.addTrainerAvailability(trainer("Priya Sharma"));
+        amit = trainerService.addTrainerAvailability(trainer("Amit Patel"));
+    }
+
+    @Test
+    void bookedTrainerIsNotFreeForOverlappingDates() {
+        Batch java = batchService.createBatch(batch(priya, FEB_1, MAR_31));
+
+        assertThat(trainerScheduleService.findFreeTrainers("Mumbai", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 10)))
+                .containsExactly(amit.getId());
+        assertThat(trainerScheduleService.findFreeTrainers("Mumbai", LocalDate.of(2025, 4, 1), LocalDate.of(2025, 4, 30)))
+                .containsExactly(priya.getId(), amit.getId());
+        assertThat(trainerScheduleService.findFreeTrainers("Delhi", FEB_1, MAR_31)).isEmpty();
+
+        Trainer assigned = trainerRepository.findById(priya.getId()).orElseThrow();
+        assertThat(assigned.getAssigned()).isTrue();
+        assertThat(assigned.getBatchId()).isEqualTo(java.getId());
+    }
+
+    @Test
+    void overlappingBatchIsRejectedAndRolledBack() {
+        Batch java = batchService.createBatch(batch(priya, FEB_1, MAR_31));
+
+        assertThatThrownBy(() -> batchService.createBatch(batch(priya, LocalDate.of(2025, 3, 15), LocalDate.of(2025, 5, 15))))
+                .isInstanceOf(ScheduleConflictException.class)
+                .hasFieldOrPropertyWithValue("conflictingBatchId", java.getId());
+
+        assertThat(batchRepository.count()).isEqualTo(1);
+        assertThat(trainerScheduleService.findConflict(priya.getId(), LocalDate.of(2025, 4, 1), LocalDate.of(2025, 5, 15)))
+                .isEmpty();
+        assertThat(batchService.createBatch(batch(priya, LocalDate.of(2025, 4, 1), LocalDate.of(2025, 5, 15))).getId())
+                .isNotNull();
+    }
+
+    @Test
+    void scheduleFollowsBatchUpdatesAndDeletes() {
+        Batch java = batchService.createBatch(batch(priya, FEB_1, MAR_31));
+
+        java.setTrainerId(amit.getId());
+        batchService.updateBatch(java);
+
+        assertThat(trainerScheduleService.findFreeTrainers("Mumbai", FEB_1, MAR_31)).containsExactly(priya.getId());
+        assertThat(trainerRepository.findById(priya.getId()).orElseThrow().getAssigned()).isFalse();
+        assertThat(trainerRepository.findById(amit.getId()).orElseThrow().getBatchId()).isEqualTo(java.getId());
+
+        batchService.deleteBatch(java.getId());
+
+        assertThat(trainerScheduleService.findFreeTrainers("Mumbai", FEB_1, MAR_31))
+                .containsExactly(priya.getId(), amit.getId());
+        assertThat(trainerRepository.findById(amit.getId()).orElseThrow().getAssigned()).isFalse();
+    }
+
+    @Test
+    void datesGivenUpByAnUncommittedChangeStayBookedUntilItCommits() {
+        Batch java = batchService.createBatch(batch(priya, FEB_1, MAR_31));
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            java.setStartDate(LocalDate.of(2025, 6, 1));
+            java.setEndDate(LocalDate.of(2025, 6, 30));
+            batchService.updateBatch(java);
+            // Another transaction cannot take February yet: this move may still roll back
+            assertThatThrownBy(() -> concurrent.executeWithoutResult(
+                    inner -> batchService.createBatch(batch(priya, FEB_1, LocalDate.of(2025, 2, 28)))))
+                    .isInstanceOf(ScheduleConflictException.class)
+                    .hasFieldOrPropertyWithValue("conflictingBatchId", java.getId());
+            // A batch in another range commits meanwhile and must survive the rollback below
+            concurrent.executeWithoutResult(
+                    inner -> batchService.createBatch(batch(priya, LocalDate.of(2025, 9, 1), LocalDate.of(2025, 9, 30))));
+            status.setRollbackOnly();
+        });
+
+        assertThat(trainerScheduleService.findConflict(priya.getId(), LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 1)))
+                .contains(java.getId());
+        assertThat(trainerScheduleService.findConflict(priya.getId(), LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 30)))
+                .isEmpty();
+        assertThat(trainerScheduleService.findConflict(priya.getId(), LocalDate.of(2025, 9, 15), LocalDate.of(2025, 9, 15)))
+                .isPresent();
+
+        java.setStartDate(LocalDate.of(2025, 6, 1));
+        java.setEndDate(LocalDate.of(2025, 6, 30));
+        batchService.updateBatch(java);
+
+        assertThat(trainerScheduleService.findConflict(priya.getId(), FEB_1, MAR_31)).isEmpty();
+    }
+
+    @Test
+    void rebuildMergesEachTrainersBatches() {
+        batchService.createBatch(batch(priya, FEB_1, LocalDate.of(2025, 2, 20)));
+        batchService.createBatch(batch(priya, LocalDate.of(2025, 3, 10), MAR_31));
+        batchService.createBatch(batch(amit, LocalDate.of(2025, 2, 15), LocalDate.of(2025, 3, 15)));
+
+        trainerScheduleService.rebuild();
+
+        assertThat(trainerScheduleService.findFreeTrainers("Mumbai", LocalDate.of(2025, 2, 21), LocalDate.of(2025, 3, 9)))
+                .containsExactly(priya.getId());
+        assertThat(trainerScheduleService.findFreeTrainers("Mumbai", LocalDate.of(2025, 4, 1), LocalDate.of(2025, 4, 30)))
+                .containsExactly(priya.getId(), amit.getId());
+    }
+
+    private static Trainer trainer(String name) {
+        Trainer trainer = new Trainer();
+        trainer.setName(name);
+        trainer.setLocation("Mumbai");
+        trainer.setAvailableDate(LocalDate.of(2025, 1, 15));
+        return trainer;
+    }
+
+    private static Batch batch(Trainer trainer, LocalDate start, LocalDate end) {
+        Batch batch = new Batch();
+        batch.setCourseName("Java Full Stack Development");
+        batch.setLocation("Mumbai");
+        batch.setTrainerId(trainer.getId());
+        batch.setStartDate(start);
+        batch.setEndDate(end);
+        return batch;
+    }
+}
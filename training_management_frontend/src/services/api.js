@@ -150,5 +150,10 @@ export default {
   
   getAllAttendanceTrends() {
     return api.get('/reports/attendance-trends')
+  },
+
+  // Search API
+  search(q, offset = 0, limit = 20) {
+    return api.get('/search', { params: { q, offset, limit } })
   }
 }
\ No newline at end of file